@@ -0,0 +1,29 @@
+package com.project.task_manager.config;
+
+import com.github.benmanes.caffeine.cache.Weigher;
+import org.hibernate.cache.spi.entry.CacheEntry;
+import org.hibernate.cache.spi.support.AbstractReadWriteAccess;
+
+import java.io.Serializable;
+
+// Peso aproximado, em bytes, de uma entrada do cache L2: o texto das colunas conta pelo tamanho,
+// para que a foto de perfil em base64 pese o que ocupa no heap. Usado em application.conf.
+public class CacheEntryWeigher implements Weigher<Object, Object> {
+
+    private static final int ENTRY_OVERHEAD = 64;
+    private static final int FIELD_OVERHEAD = 16;
+
+    @Override
+    public int weigh(Object key, Object value) {
+        Object entry = value instanceof AbstractReadWriteAccess.Item item ? item.getValue() : value;
+        if (!(entry instanceof CacheEntry cacheEntry)) {
+            return ENTRY_OVERHEAD;
+        }
+
+        long bytes = ENTRY_OVERHEAD;
+        for (Serializable field : cacheEntry.getDisassembledState()) {
+            bytes += field instanceof String text ? FIELD_OVERHEAD + 2L * text.length() : FIELD_OVERHEAD;
+        }
+        return (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
+}
@@ -1,7 +1,6 @@
 package com.project.task_manager.config;
 
-import com.project.task_manager.model.User;
-import com.project.task_manager.repository.UserRepository;
+import com.project.task_manager.service.AccountStatusRegistry;
 import com.project.task_manager.service.JwtService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -21,7 +20,13 @@ public class JwtFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final ApplicationContext applicationContext;
-    private final UserRepository userRepository;
+    private final AccountStatusRegistry accountStatusRegistry;
+
+    // O export termina num dispatch ASYNC, que precisa do mesmo principal para passar na autorização.
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -36,11 +41,11 @@ public class JwtFilter extends OncePerRequestFilter {
         }
 
         final String token = authHeader.substring(7);
-        String userId;
+        AuthenticatedUser user;
 
         try {
-            userId = jwtService.extractUserId(token);
-            } catch (io.jsonwebtoken.ExpiredJwtException ex) {
+            user = jwtService.authenticate(token);
+        } catch (io.jsonwebtoken.ExpiredJwtException ex) {
             response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
             response.setContentType("application/json");
             response.getWriter().write("{\"message\":\"Token expirado. Faça login novamente.\"}");
@@ -54,10 +59,8 @@ public class JwtFilter extends OncePerRequestFilter {
             return;
         }
 
-        if (userId != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            var user = userRepository.findById(Long.parseLong(userId)).orElse(null);
-
-            if (user == null || !Boolean.TRUE.equals(user.getIsActive())) {
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
+            if (accountStatusRegistry.isRevoked(user.id(), user.statusEpoch())) {
                 response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
                 response.setContentType("application/json");
                 response.getWriter().write("{\"message\":\"Conta desativada. Faça login novamente.\"}");
@@ -65,13 +68,11 @@ public class JwtFilter extends OncePerRequestFilter {
                 return;
             }
 
-            if (jwtService.isTokenValid(token, user)) {
-                UsernamePasswordAuthenticationToken authToken =
-                        new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+            UsernamePasswordAuthenticationToken authToken =
+                    new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
 
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authToken);
-            }
+            authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(authToken);
         }
 
         filterChain.doFilter(request, response);
@@ -0,0 +1,28 @@
+package com.project.task_manager.config;
+
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+// A réplica pode devolver linhas atrasadas. Nessas transações o cache L2 só é consultado,
+// nunca alimentado, para que uma leitura atrasada não fique servindo as próximas.
+public class ReplicaReadCacheGuard implements TransactionExecutionListener {
+
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final EntityManager entityManager;
+
+    public ReplicaReadCacheGuard(ReadYourWritesTracker readYourWritesTracker, EntityManager entityManager) {
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public void afterBegin(TransactionExecution transaction, @Nullable Throwable beginFailure) {
+        if (beginFailure == null && readYourWritesTracker.readsFromReplica()) {
+            entityManager.setProperty(SpecHints.HINT_SPEC_CACHE_STORE_MODE, CacheStoreMode.BYPASS);
+        }
+    }
+}
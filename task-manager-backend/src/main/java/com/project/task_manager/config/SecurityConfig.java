@@ -1,8 +1,11 @@
 package com.project.task_manager.config;
 
-import com.project.task_manager.repository.UserRepository;
+import com.project.task_manager.service.AccountStatusRegistry;
+import com.project.task_manager.service.AuthRateLimiter;
 import com.project.task_manager.service.JwtService;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -13,7 +16,6 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.annotation.web.configurers.LogoutConfigurer;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
@@ -23,7 +25,8 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
 
     private final JwtService jwtService;
-    private final UserRepository userRepository;
+    private final AccountStatusRegistry accountStatusRegistry;
+    private final AuthRateLimiter authRateLimiter;
     private final ApplicationContext applicationContext;
 
     @Bean
@@ -34,14 +37,17 @@ public class SecurityConfig {
                     .requestMatchers("/auth/signup", "/auth/login").permitAll()
                     .anyRequest().authenticated()
             )
-            .addFilterBefore(new JwtFilter(jwtService, applicationContext, userRepository), UsernamePasswordAuthenticationFilter.class)            .logout(LogoutConfigurer::permitAll);
+            .addFilterBefore(new AuthRateLimitFilter(authRateLimiter), UsernamePasswordAuthenticationFilter.class)
+            .addFilterBefore(new JwtFilter(jwtService, applicationContext, accountStatusRegistry), UsernamePasswordAuthenticationFilter.class)            .logout(LogoutConfigurer::permitAll);
 
         return http.build();
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BoundedPasswordEncoder passwordEncoder(@Value("${app.password-hashing.threads:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}") int threads,
+                                                  @Value("${app.password-hashing.queue-capacity:64}") int queueCapacity,
+                                                  MeterRegistry meterRegistry) {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), threads, queueCapacity, meterRegistry);
     }
 
     @Bean
@@ -0,0 +1,129 @@
+package com.project.task_manager.config;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+// Token bucket em memória, com o mapa dividido em faixas com lock próprio para que
+// chaves diferentes raramente disputem o mesmo lock. Depois que o bucket de uma chave
+// existe, tryAcquire não aloca nada.
+public class TokenBucketRateLimiter {
+
+    private static final int STRIPES = 64;
+
+    private final long capacity;
+    private final long nanosPerToken;
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final LongSupplier nanoClock;
+
+    public TokenBucketRateLimiter(long capacity, long tokensPerMinute) {
+        this(capacity, tokensPerMinute, System::nanoTime);
+    }
+
+    // O relógio em nanossegundos é injetável para os testes controlarem a reposição.
+    public TokenBucketRateLimiter(long capacity, long tokensPerMinute, LongSupplier nanoClock) {
+        if (capacity < 1 || tokensPerMinute < 1) {
+            throw new IllegalArgumentException("Capacidade e reposição precisam ser positivas.");
+        }
+        this.capacity = capacity;
+        this.nanoClock = nanoClock;
+        this.nanosPerToken = TimeUnit.MINUTES.toNanos(1) / tokensPerMinute;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    // Retorna 0 se a tentativa foi liberada, ou quantos nanossegundos faltam para o próximo token.
+    public long tryAcquire(String key) {
+        long now = nanoClock.getAsLong();
+        Stripe stripe = stripeFor(key);
+
+        stripe.lock.lock();
+        try {
+            Bucket bucket = stripe.buckets.get(key);
+            if (bucket == null) {
+                bucket = new Bucket(capacity, now);
+                stripe.buckets.put(key, bucket);
+            }
+
+            bucket.refill(now, capacity, nanosPerToken);
+            if (bucket.tokens > 0) {
+                bucket.tokens--;
+                return 0;
+            }
+            return nanosPerToken - (now - bucket.refilledAt);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    // Um bucket que já voltaria cheio é igual a um bucket novo, então pode sair do mapa.
+    public int evictIdle() {
+        long now = nanoClock.getAsLong();
+        long refillAll = capacity * nanosPerToken;
+        int evicted = 0;
+
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                int before = stripe.buckets.size();
+                stripe.buckets.values().removeIf(bucket -> now - bucket.refilledAt >= refillAll);
+                evicted += before - stripe.buckets.size();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return evicted;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                size += stripe.buckets.size();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    private Stripe stripeFor(String key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+    }
+
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<String, Bucket> buckets = new HashMap<>();
+    }
+
+    private static final class Bucket {
+        private long tokens;
+        private long refilledAt;
+
+        private Bucket(long tokens, long now) {
+            this.tokens = tokens;
+            this.refilledAt = now;
+        }
+
+        private void refill(long now, long capacity, long nanosPerToken) {
+            long elapsed = now - refilledAt;
+            if (elapsed < nanosPerToken) {
+                return;
+            }
+
+            long added = elapsed / nanosPerToken;
+            if (tokens + added >= capacity) {
+                tokens = capacity;
+                refilledAt = now;
+            } else {
+                tokens += added;
+                refilledAt += added * nanosPerToken;
+            }
+        }
+    }
+}
@@ -3,13 +3,18 @@ package com.project.task_manager.controller;
 import com.project.task_manager.dto.AuthResponse;
 import com.project.task_manager.dto.LoginRequest;
 import com.project.task_manager.dto.SignUpRequest;
+import com.project.task_manager.service.AuthRateLimiter;
 import com.project.task_manager.service.JwtService;
 import com.project.task_manager.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -29,30 +34,34 @@ public class AuthController {
     private final UserService userService;
     private final AuthenticationManager authenticationManager;
     private final JwtService jwtService;
+    private final AuthRateLimiter authRateLimiter;
 
     @PostMapping("/signup")
     public ResponseEntity<?> signUp(@Valid @RequestBody SignUpRequest request) {
         try {
-            userService.register(request);
-
-            Authentication authentication = authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
-            );
-            SecurityContextHolder.getContext().setAuthentication(authentication);
-
-            var user = userService.findByUsername(request.getUsername())
-                    .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado."));
+            // A senha acabou de ser gerada com o hash; verificá-la de novo só gastaria outro BCrypt.
+            var user = userService.register(request);
 
             String token = jwtService.generateToken(user);
 
             return ResponseEntity.ok(new AuthResponse(token));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (TaskRejectedException e) {
+            return busy();
         }
     }
 
     @PostMapping("/login")
     public ResponseEntity<?> login(@Valid @RequestBody LoginRequest request) {
+        long retryAfter = authRateLimiter.checkUsername(request.getUsername());
+        if (retryAfter > 0) {
+            return ResponseEntity
+                    .status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter))
+                    .body("Muitas tentativas para este usuário. Tente novamente em instantes.");
+        }
+
         try {
             Authentication authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
@@ -69,10 +78,23 @@ public class AuthController {
             return ResponseEntity
                     .status(401)
                     .body("Nome de usuário ou senha inválidos.");
+        } catch (DisabledException e) {
+            return ResponseEntity
+                    .status(401)
+                    .body("Conta desativada.");
+        } catch (TaskRejectedException e) {
+            return busy();
         } catch (Exception e) {
             return ResponseEntity
                     .status(500)
                     .body("Um erro inesperado aconteceu.");
         }
     }
+
+    private ResponseEntity<String> busy() {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body("Servidor ocupado. Tente novamente em instantes.");
+    }
 }
@@ -0,0 +1,75 @@
+package com.project.task_manager.controller;
+
+import com.project.task_manager.model.Task;
+import com.project.task_manager.model.User;
+import org.springframework.http.CacheControl;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public final class ETags {
+
+    // Respostas podem ser guardadas pelo cliente, mas sempre revalidadas com If-None-Match.
+    public static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private ETags() {
+    }
+
+    public static String of(Object... parts) {
+        String raw = Arrays.stream(parts)
+                .map(ETags::normalize)
+                .collect(Collectors.joining(":"));
+        return "\"" + DigestUtils.md5DigestAsHex(raw.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    // Versão da tarefa, o dono e os usuários com quem ela está compartilhada: tudo que vai no corpo.
+    // O prefixo é a versão da tarefa, a única parte que If-Match compara (ver versionsIn).
+    public static String ofTask(Task task, List<User> users) {
+        Object[] parts = new Object[4 + users.size() * 2];
+        parts[0] = task.getId();
+        parts[1] = task.getVersion();
+        parts[2] = task.getOwner().getId();
+        parts[3] = task.getOwner().getUpdatedAt();
+        for (int i = 0; i < users.size(); i++) {
+            parts[4 + i * 2] = users.get(i).getId();
+            parts[5 + i * 2] = users.get(i).getUpdatedAt();
+        }
+        String hash = of(parts);
+        return "\"" + task.getVersion() + "-" + hash.substring(1);
+    }
+
+    // Versões da tarefa citadas em If-Match, ou null para "*". A edição de perfil de um
+    // colaborador muda o ETag de leitura, mas não deve fazer uma escrita falhar.
+    static Set<Long> versionsIn(String ifMatch) {
+        if (ifMatch.trim().equals("*")) {
+            return null;
+        }
+
+        Set<Long> versions = new HashSet<>();
+        for (String tag : ifMatch.split(",")) {
+            String value = tag.trim();
+            int separator = value.indexOf('-');
+            if (value.startsWith("\"") && separator > 1) {
+                try {
+                    versions.add(Long.parseLong(value.substring(1, separator)));
+                } catch (NumberFormatException ignored) {
+                    // ETag em outro formato: não casa com nenhuma versão.
+                }
+            }
+        }
+        return versions;
+    }
+
+    private static String normalize(Object part) {
+        if (part instanceof Date date) {
+            return String.valueOf(date.getTime());
+        }
+        return String.valueOf(part);
+    }
+}
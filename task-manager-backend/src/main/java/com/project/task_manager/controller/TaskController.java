@@ -1,28 +1,53 @@
 package com.project.task_manager.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.task_manager.config.AuthenticatedUser;
+import com.project.task_manager.dto.BulkShareTaskRequest;
 import com.project.task_manager.dto.CreateTaskRequest;
 import com.project.task_manager.dto.ShareTaskRequest;
+import com.project.task_manager.dto.TaskBatchRequest;
+import com.project.task_manager.dto.TaskBatchResponse;
+import com.project.task_manager.dto.TaskChangesResponse;
 import com.project.task_manager.dto.TaskDetailsResponse;
+import com.project.task_manager.dto.TaskFilter;
+import com.project.task_manager.dto.TaskListVersion;
+import com.project.task_manager.dto.TaskPageResponse;
+import com.project.task_manager.dto.TaskSummary;
+import com.project.task_manager.enums.TaskSort;
+import com.project.task_manager.enums.TaskStatus;
 import com.project.task_manager.model.Task;
 import com.project.task_manager.model.User;
+import com.project.task_manager.service.TaskExportLimiter;
 import com.project.task_manager.service.TaskService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequiredArgsConstructor
@@ -30,16 +55,99 @@ import java.util.Optional;
 public class TaskController {
 
     private final TaskService taskService;
+    private final TaskExportLimiter taskExportLimiter;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
-    public ResponseEntity<?> listAllAccessibleTasks(@AuthenticationPrincipal UserDetails userDetails) {
-        List<Task> tasks = taskService.findAllAccessibleTasks(userDetails.getUsername());
-        return ResponseEntity.ok(tasks);
+    public ResponseEntity<?> listAllAccessibleTasks(@AuthenticationPrincipal AuthenticatedUser principal,
+                                                    @RequestParam(required = false) TaskStatus status,
+                                                    @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date deadlineFrom,
+                                                    @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date deadlineTo,
+                                                    @RequestParam(required = false) String title,
+                                                    @RequestParam(defaultValue = "deadline") String sort,
+                                                    @RequestParam(required = false) String cursor,
+                                                    @RequestParam(defaultValue = "50") int limit,
+                                                    WebRequest webRequest) {
+        TaskListVersion version = taskService.findListVersion(principal.id());
+        String etag = ETags.of(principal.id(), version.getSettledXid(), version.getPending(),
+                status, deadlineFrom, deadlineTo, title, sort, cursor, limit);
+
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        try {
+            TaskFilter filter = new TaskFilter(status, deadlineFrom, deadlineTo, title, TaskSort.fromKey(sort));
+            TaskPageResponse page = taskService.findAccessibleTasksPage(principal.id(), filter, cursor, limit);
+            return ResponseEntity.ok().eTag(etag).cacheControl(ETags.REVALIDATE).body(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/changes")
+    public ResponseEntity<?> listTaskChanges(@AuthenticationPrincipal AuthenticatedUser principal,
+                                             @RequestParam(required = false) String since,
+                                             @RequestParam(defaultValue = "200") int limit) {
+        try {
+            TaskChangesResponse changes = taskService.findChangesSince(principal.id(), since, limit);
+            return ResponseEntity.ok(changes);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportTasks(@AuthenticationPrincipal AuthenticatedUser principal) {
+        Long userId = principal.id();
+
+        // Sem corpo: o tipo de retorno precisa continuar sendo StreamingResponseBody para o Spring
+        // tratar a resposta como assíncrona.
+        if (!taskExportLimiter.tryAcquire()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "30")
+                    .build();
+        }
+
+        StreamingResponseBody body = outputStream -> {
+            // O stream é da resposta; quem fecha é o container.
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+                // Sem o espaço que o Jackson põe entre valores raiz; o separador é a quebra de linha.
+                generator.setRootValueSeparator(null);
+                taskService.exportAccessibleTasks(userId, task -> {
+                    try {
+                        generator.writeObject(task);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } finally {
+                taskExportLimiter.release();
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<?> searchTasks(@AuthenticationPrincipal AuthenticatedUser principal,
+                                         @RequestParam("q") String query,
+                                         @RequestParam(defaultValue = "20") int limit) {
+        try {
+            List<TaskSummary> tasks = taskService.searchAccessibleTasks(principal.id(), query, limit);
+            return ResponseEntity.ok(tasks);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<?> listAccessibleTaskById(@AuthenticationPrincipal UserDetails userDetails, @PathVariable Long id) {
-        Optional<Task> task = taskService.findAccessibleTaskById(id, userDetails.getUsername());
+    public ResponseEntity<?> listAccessibleTaskById(@AuthenticationPrincipal AuthenticatedUser principal, @PathVariable Long id) {
+        Optional<Task> task = taskService.findAccessibleTaskById(id, principal.id());
 
         if (task.isEmpty()) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Tarefa não encontrada");
@@ -47,43 +155,75 @@ public class TaskController {
 
         List<User> users = taskService.findUsersByTaskId(id);
 
-        TaskDetailsResponse taskDetailsResponse = new TaskDetailsResponse();
-        taskDetailsResponse.setTask(task.get());
-        taskDetailsResponse.setUsers(users);
-
-        return ResponseEntity.ok(taskDetailsResponse);
+        return ResponseEntity.ok()
+                .eTag(ETags.ofTask(task.get(), users))
+                .cacheControl(ETags.REVALIDATE)
+                .body(taskDetails(task.get(), users));
     }
 
     @GetMapping("/{taskId}/shared-users")
-    public ResponseEntity<?> getUsersByTaskId(@PathVariable Long taskId) {
+    public ResponseEntity<?> getUsersByTaskId(@AuthenticationPrincipal AuthenticatedUser principal, @PathVariable Long taskId) {
+        if (taskService.findAccessibleTaskById(taskId, principal.id()).isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Tarefa não encontrada");
+        }
+
         List<User> users = taskService.findUsersByTaskId(taskId);
         return ResponseEntity.ok(users);
     }
 
     @PostMapping
-    public ResponseEntity<Task> createTask(@AuthenticationPrincipal UserDetails userDetails, @RequestBody CreateTaskRequest createTaskRequest) {
-        Task created = taskService.save(userDetails.getUsername(), createTaskRequest.getTask());
-        taskService.shareTaskWithUsers(created.getId(), createTaskRequest.getUsernames(), userDetails.getUsername());
-        return ResponseEntity.ok(created);
+    public ResponseEntity<?> createTask(@AuthenticationPrincipal AuthenticatedUser principal, @RequestBody CreateTaskRequest createTaskRequest) {
+        try {
+            Task created = taskService.save(principal.id(), createTaskRequest.getTask());
+            taskService.shareTaskWithUsers(created.getId(), createTaskRequest.getUsernames(), principal.id());
+            return ResponseEntity.ok(created);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<?> applyBatch(@AuthenticationPrincipal AuthenticatedUser principal, @RequestBody TaskBatchRequest request) {
+        try {
+            TaskBatchResponse response = taskService.applyBatch(principal.id(), request.getOperations());
+            if (response.isApplied()) {
+                return ResponseEntity.ok(response);
+            }
+            boolean conflict = response.getResults().stream().anyMatch(result -> result.getStatus() == 409);
+            return ResponseEntity.status(conflict ? HttpStatus.CONFLICT : HttpStatus.BAD_REQUEST).body(response);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Uma das tarefas foi alterada por outro usuário.");
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<?> updateTask(@AuthenticationPrincipal UserDetails userDetails, @PathVariable Long id, @RequestBody CreateTaskRequest createTaskRequest) {
+    public ResponseEntity<?> updateTask(@AuthenticationPrincipal AuthenticatedUser principal, @PathVariable Long id,
+                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                        @RequestBody CreateTaskRequest createTaskRequest) {
         try {
-            Task updatedTask = taskService.update(userDetails.getUsername(), id, createTaskRequest.getTask());
-            taskService.shareTaskWithUsers(updatedTask.getId(), createTaskRequest.getUsernames(), userDetails.getUsername());
+            Set<Long> expectedVersions = ifMatch != null ? ETags.versionsIn(ifMatch) : null;
+            Task updatedTask = taskService.update(principal.id(), id, createTaskRequest.getTask(), expectedVersions);
+            taskService.shareTaskWithUsers(updatedTask.getId(), createTaskRequest.getUsernames(), principal.id());
             return ResponseEntity.ok(updatedTask);
+        } catch (OptimisticLockingFailureException e) {
+            return taskService.findCurrentTaskDetails(id, principal.id())
+                    .<ResponseEntity<?>>map(this::conflict)
+                    .orElseGet(() -> ResponseEntity.status(HttpStatus.CONFLICT).body("A tarefa foi alterada por outro usuário."));
         } catch (SecurityException e) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Você não está autorizado a atualizar este usuário.");
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Tarefa não encontrada.");
         }
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<String> softDeleteTask(@PathVariable Long id, @AuthenticationPrincipal UserDetails userDetails) {
+    public ResponseEntity<String> softDeleteTask(@PathVariable Long id, @AuthenticationPrincipal AuthenticatedUser principal) {
         try {
-            taskService.softDelete(userDetails.getUsername(), id);
+            taskService.softDelete(principal.id(), id);
             return ResponseEntity.noContent().build();
         } catch (SecurityException e) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Você não está autorizado a deletar este usuário.");
@@ -92,17 +232,42 @@ public class TaskController {
         }
     }
 
+    @PostMapping("/share")
+    public ResponseEntity<?> shareTasks(@RequestBody BulkShareTaskRequest request, @AuthenticationPrincipal AuthenticatedUser principal) {
+        try {
+            taskService.shareTasksWithUsers(request.getTaskIds(), request.getUsernames(), principal.id());
+            return ResponseEntity.ok("Tarefas compartilhadas com sucesso.");
+        } catch (SecurityException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     @PostMapping("/{taskId}/share")
     public ResponseEntity<?> shareTask (
             @PathVariable Long taskId,
             @RequestBody ShareTaskRequest request,
-            @AuthenticationPrincipal UserDetails userDetails
+            @AuthenticationPrincipal AuthenticatedUser principal
     ) {
         try {
-            taskService.shareTaskWithUsers(taskId, request.getUsernames(), userDetails.getUsername());
+            taskService.shareTaskWithUsers(taskId, request.getUsernames(), principal.id());
             return ResponseEntity.ok("Tarefa compartilhada com sucesso.");
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
+
+    private ResponseEntity<TaskDetailsResponse> conflict(TaskDetailsResponse current) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .eTag(ETags.ofTask(current.getTask(), current.getUsers()))
+                .body(current);
+    }
+
+    private TaskDetailsResponse taskDetails(Task task, List<User> users) {
+        TaskDetailsResponse taskDetailsResponse = new TaskDetailsResponse();
+        taskDetailsResponse.setTask(task);
+        taskDetailsResponse.setUsers(users);
+        return taskDetailsResponse;
+    }
 }
@@ -1,5 +1,6 @@
 package com.project.task_manager.controller;
 
+import com.project.task_manager.config.AuthenticatedUser;
 import com.project.task_manager.model.User;
 import com.project.task_manager.service.UserService;
 import lombok.RequiredArgsConstructor;
@@ -7,7 +8,6 @@ import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -15,6 +15,7 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Optional;
@@ -27,8 +28,14 @@ public class UserController {
     private final UserService userService;
 
     @GetMapping
-    public List<User> listAll() {
-        return userService.findAll();
+    public ResponseEntity<List<User>> listAll(WebRequest webRequest) {
+        String etag = ETags.of(userService.findListVersion());
+
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        return ResponseEntity.ok().eTag(etag).cacheControl(ETags.REVALIDATE).body(userService.findAll());
     }
 
     @GetMapping("/{id}")
@@ -36,16 +43,19 @@ public class UserController {
         Optional<User> user = userService.findById(id);
 
         if (user.isPresent()) {
-            return ResponseEntity.ok(user.get());
+            return ResponseEntity.ok()
+                    .eTag(ETags.of(user.get().getId(), user.get().getUpdatedAt()))
+                    .cacheControl(ETags.REVALIDATE)
+                    .body(user.get());
         } else {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Usuário não encontrado.");
         }
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<?> updateUser(@AuthenticationPrincipal UserDetails userDetails, @PathVariable Long id, @RequestBody User user) {
+    public ResponseEntity<?> updateUser(@AuthenticationPrincipal AuthenticatedUser principal, @PathVariable Long id, @RequestBody User user) {
         try {
-            userService.update(userDetails.getUsername(), id, user);
+            userService.update(principal.id(), id, user);
             return ResponseEntity.ok().build();
         } catch (SecurityException e) {
             return ResponseEntity.status(403).body("Você não está autorizado a atualizar este usuário.");
@@ -57,9 +67,9 @@ public class UserController {
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<String> softDeleteUser(@AuthenticationPrincipal UserDetails userDetails, @PathVariable Long id) {
+    public ResponseEntity<String> softDeleteUser(@AuthenticationPrincipal AuthenticatedUser principal, @PathVariable Long id) {
         try {
-            userService.softDelete(userDetails.getUsername(), id);
+            userService.softDelete(principal.id(), id);
             return ResponseEntity.ok().build();
         } catch (SecurityException e) {
             return ResponseEntity.status(403).body("Você não está autorizado a deletar este usuário.");
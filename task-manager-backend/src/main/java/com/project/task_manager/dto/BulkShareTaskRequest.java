@@ -0,0 +1,11 @@
+package com.project.task_manager.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkShareTaskRequest {
+    private List<Long> taskIds;
+    private List<String> usernames;
+}
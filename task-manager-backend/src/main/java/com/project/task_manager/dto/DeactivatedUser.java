@@ -0,0 +1,11 @@
+package com.project.task_manager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class DeactivatedUser {
+    private Long id;
+    private Long statusEpoch;
+}
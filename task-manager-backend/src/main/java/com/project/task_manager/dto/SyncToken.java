@@ -0,0 +1,40 @@
+package com.project.task_manager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Posição no feed de GET /tasks/changes: {@code (change_xid, change_seq)} da última
+ * linha entregue. O valor trafega para o cliente como uma string opaca.
+ */
+@Data
+@AllArgsConstructor
+public class SyncToken {
+    public static final SyncToken START = new SyncToken(0L, 0L);
+
+    private Long xid;
+    private Long seq;
+
+    public String encode() {
+        String raw = xid + ":" + seq;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SyncToken decode(String token) {
+        if (token == null || token.isBlank()) return START;
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            return new SyncToken(
+                    Long.parseLong(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1))
+            );
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Token de sincronização inválido.");
+        }
+    }
+}
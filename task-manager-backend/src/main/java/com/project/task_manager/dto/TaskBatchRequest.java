@@ -0,0 +1,10 @@
+package com.project.task_manager.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class TaskBatchRequest {
+    private List<TaskOperation> operations;
+}
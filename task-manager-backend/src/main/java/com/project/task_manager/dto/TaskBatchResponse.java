@@ -0,0 +1,13 @@
+package com.project.task_manager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class TaskBatchResponse {
+    private boolean applied;
+    private List<TaskOperationResult> results;
+}
@@ -0,0 +1,25 @@
+package com.project.task_manager.dto;
+
+import com.project.task_manager.enums.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.Date;
+
+@Data
+@AllArgsConstructor
+public class TaskChange {
+    private Long taskId;
+    private Boolean revoked;
+    private Long changeXid;
+    private Long changeSeq;
+    private String title;
+    private TaskStatus status;
+    private Date deadline;
+    private Long ownerId;
+    private String ownerUsername;
+
+    public TaskSummary toSummary() {
+        return new TaskSummary(taskId, title, status, deadline, ownerId, ownerUsername, null);
+    }
+}
@@ -0,0 +1,15 @@
+package com.project.task_manager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class TaskChangesResponse {
+    private List<TaskSummary> updated;
+    private List<Long> removed;
+    private String nextToken;
+    private boolean hasMore;
+}
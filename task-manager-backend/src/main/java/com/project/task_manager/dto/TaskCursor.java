@@ -0,0 +1,46 @@
+package com.project.task_manager.dto;
+
+import com.project.task_manager.enums.TaskSort;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * Posição de paginação por chave (keyset) sobre {@code (valor, id)}, onde o valor é o
+ * prazo nas ordenações por prazo e a data de criação em {@code -created}.
+ * O valor trafega para o cliente como uma string opaca. Tarefas antigas podem
+ * não ter prazo; nesse caso a parte do valor vai vazia.
+ */
+@Data
+@AllArgsConstructor
+public class TaskCursor {
+    private Date value;
+    private Long id;
+
+    public static TaskCursor after(TaskSummary last, TaskSort sort) {
+        Date value = sort == TaskSort.NEWEST ? last.getCreatedAt() : last.getDeadline();
+        return new TaskCursor(value, last.getId());
+    }
+
+    public String encode() {
+        String raw = (value != null ? String.valueOf(value.getTime()) : "") + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TaskCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            String value = raw.substring(0, separator);
+            return new TaskCursor(
+                    value.isEmpty() ? null : new Date(Long.parseLong(value)),
+                    Long.parseLong(raw.substring(separator + 1))
+            );
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor de paginação inválido.");
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.project.task_manager.dto;
+
+import com.project.task_manager.enums.TaskSort;
+import com.project.task_manager.enums.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskFilter {
+    private TaskStatus status;
+    private Date deadlineFrom;
+    private Date deadlineTo;
+    private String title;
+    private TaskSort sort = TaskSort.DEADLINE;
+}
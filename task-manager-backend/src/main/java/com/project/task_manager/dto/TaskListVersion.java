@@ -0,0 +1,16 @@
+package com.project.task_manager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Versão da listagem de tarefas de um usuário, usada no ETag de GET /tasks. Linhas de
+ * transações anteriores à mais antiga ainda em curso entram só pelo maior xid; as mais
+ * recentes entram uma a uma, porque ainda podem ser ultrapassadas por um commit atrasado.
+ */
+@Data
+@AllArgsConstructor
+public class TaskListVersion {
+    private Long settledXid;
+    private String pending;
+}
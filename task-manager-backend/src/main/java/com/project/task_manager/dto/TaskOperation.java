@@ -0,0 +1,13 @@
+package com.project.task_manager.dto;
+
+import com.project.task_manager.enums.TaskOperationType;
+import com.project.task_manager.model.Task;
+import lombok.Data;
+
+@Data
+public class TaskOperation {
+    private TaskOperationType type;
+    private Long id;
+    private Long version;
+    private Task task;
+}
@@ -0,0 +1,16 @@
+package com.project.task_manager.dto;
+
+import com.project.task_manager.enums.TaskOperationType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class TaskOperationResult {
+    private int index;
+    private TaskOperationType type;
+    private Long id;
+    private Long version;
+    private int status;
+    private String error;
+}
@@ -0,0 +1,29 @@
+package com.project.task_manager.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.project.task_manager.enums.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskSummary {
+    private Long id;
+    private String title;
+    private TaskStatus status;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "MMM d, yyyy HH:mm:ss", locale = "en_US")
+    private Date deadline;
+
+    private Long ownerId;
+    private String ownerUsername;
+
+    // Só para montar o cursor de "-created"; não vai na resposta.
+    @JsonIgnore
+    private Date createdAt;
+}
@@ -0,0 +1,6 @@
+package com.project.task_manager.enums;
+
+public enum TaskAccessRole {
+    OWNER,
+    SHARED
+}
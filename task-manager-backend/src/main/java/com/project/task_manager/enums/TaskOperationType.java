@@ -0,0 +1,7 @@
+package com.project.task_manager.enums;
+
+public enum TaskOperationType {
+    CREATE,
+    UPDATE,
+    DELETE
+}
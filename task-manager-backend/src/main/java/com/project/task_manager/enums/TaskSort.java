@@ -0,0 +1,26 @@
+package com.project.task_manager.enums;
+
+public enum TaskSort {
+    DEADLINE("deadline"),
+    DEADLINE_DESC("-deadline"),
+    NEWEST("-created");
+
+    private final String key;
+
+    TaskSort(String key) {
+        this.key = key;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public static TaskSort fromKey(String key) {
+        for (TaskSort sort : values()) {
+            if (sort.key.equals(key)) {
+                return sort;
+            }
+        }
+        throw new IllegalArgumentException("Ordenação inválida: " + key);
+    }
+}
@@ -0,0 +1,72 @@
+package com.project.task_manager.model;
+
+import com.project.task_manager.enums.TaskAccessRole;
+import com.project.task_manager.enums.TaskStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+/**
+ * Uma linha por (usuário, tarefa ativa) que o usuário pode ver. Mantida pelo
+ * TaskService a cada escrita, com prazo e status copiados da tarefa para que a
+ * listagem seja uma varredura de índice em (user_id, deadline, task_id).
+ */
+@Entity
+@Table(name = "task_access")
+@IdClass(TaskAccessId.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskAccess {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Column(name = "task_id")
+    private Long taskId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "role", nullable = false)
+    private TaskAccessRole role;
+
+    @Column(name = "deadline")
+    private Date deadline;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status")
+    private TaskStatus status;
+
+    @Column(name = "created_at")
+    private Date createdAt;
+
+    @Column(name = "updated_at", insertable = false, updatable = false)
+    private Date updatedAt;
+
+    @Column(name = "revoked", insertable = false, updatable = false)
+    private Boolean revoked;
+
+    @Column(name = "change_seq", insertable = false, updatable = false)
+    private Long changeSeq;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", insertable = false, updatable = false)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "task_id", insertable = false, updatable = false)
+    private Task task;
+}
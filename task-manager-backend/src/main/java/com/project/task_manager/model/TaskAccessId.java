@@ -0,0 +1,15 @@
+package com.project.task_manager.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskAccessId implements Serializable {
+    private Long userId;
+    private Long taskId;
+}
@@ -0,0 +1,10 @@
+package com.project.task_manager.repository;
+
+import com.project.task_manager.dto.DeactivatedUser;
+
+import java.util.List;
+
+// Fonte das contas desativadas para o AccountStatusRegistry: JPA no app principal, R2DBC no reativo.
+public interface DeactivatedUserLookup {
+    List<DeactivatedUser> findDeactivated();
+}
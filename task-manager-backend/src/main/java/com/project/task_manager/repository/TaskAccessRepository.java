@@ -0,0 +1,71 @@
+package com.project.task_manager.repository;
+
+import com.project.task_manager.model.TaskAccess;
+import com.project.task_manager.model.TaskAccessId;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+
+public interface TaskAccessRepository extends JpaRepository<TaskAccess, TaskAccessId>, TaskAccessRepositoryCustom {
+
+    // Toda escrita avança change_seq e grava o xid da transação (change_xid) na linha afetada;
+    // GET /tasks/changes lê esse feed por usuário (ver TaskAccessRepositoryImpl).
+    // NATIVE_SPACES restringe a invalidação do cache L2 à tabela alterada.
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_access"))
+    @Query(value = "INSERT INTO task_access (user_id, task_id, role, deadline, status, created_at) " +
+            "SELECT t.owner_id, t.id, 'OWNER', t.deadline, t.status, t.created_at FROM tasks t " +
+            "WHERE t.id IN (:taskIds) AND t.is_active = true " +
+            "ON CONFLICT (user_id, task_id) DO UPDATE SET role = 'OWNER', revoked = false, " +
+            "change_seq = EXCLUDED.change_seq, change_xid = EXCLUDED.change_xid, updated_at = now()", nativeQuery = true)
+    void grantOwner(@Param("taskIds") Collection<Long> taskIds);
+
+    // Acesso SHARED espelha task_shared: concede o que está lá e revoga o que saiu.
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_access"))
+    @Query(value = "INSERT INTO task_access (user_id, task_id, role, deadline, status, created_at) " +
+            "SELECT s.shared_with_id, t.id, 'SHARED', t.deadline, t.status, t.created_at FROM task_shared s " +
+            "JOIN tasks t ON t.id = s.task_id " +
+            "WHERE s.task_id IN (:taskIds) AND t.is_active = true AND s.shared_with_id <> t.owner_id " +
+            "ON CONFLICT (user_id, task_id) DO UPDATE SET revoked = false, " +
+            "deadline = EXCLUDED.deadline, status = EXCLUDED.status, " +
+            "change_seq = EXCLUDED.change_seq, change_xid = EXCLUDED.change_xid, updated_at = now() " +
+            "WHERE task_access.revoked", nativeQuery = true)
+    void grantShared(@Param("taskIds") Collection<Long> taskIds);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_access"))
+    @Query(value = "UPDATE task_access a SET revoked = true, " +
+            "change_seq = nextval('task_change_seq'), change_xid = pg_current_xact_id(), updated_at = now() " +
+            "WHERE a.task_id IN (:taskIds) AND a.role = 'SHARED' AND NOT a.revoked " +
+            "AND NOT EXISTS (SELECT 1 FROM task_shared s WHERE s.task_id = a.task_id AND s.shared_with_id = a.user_id)", nativeQuery = true)
+    void revokeUnshared(@Param("taskIds") Collection<Long> taskIds);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_access"))
+    @Query(value = "UPDATE task_access a SET deadline = t.deadline, status = t.status, " +
+            "change_seq = nextval('task_change_seq'), change_xid = pg_current_xact_id(), updated_at = now() " +
+            "FROM tasks t WHERE t.id = a.task_id AND a.task_id IN (:taskIds) AND NOT a.revoked", nativeQuery = true)
+    void syncTasks(@Param("taskIds") Collection<Long> taskIds);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_access"))
+    @Query(value = "UPDATE task_access SET " +
+            "change_seq = nextval('task_change_seq'), change_xid = pg_current_xact_id(), updated_at = now() " +
+            "WHERE NOT revoked AND task_id IN (SELECT t.id FROM tasks t WHERE t.owner_id = :ownerId)", nativeQuery = true)
+    void touchTasksOwnedBy(@Param("ownerId") Long ownerId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_access"))
+    @Query(value = "UPDATE task_access SET revoked = true, " +
+            "change_seq = nextval('task_change_seq'), change_xid = pg_current_xact_id(), updated_at = now() " +
+            "WHERE task_id IN (:taskIds) AND NOT revoked", nativeQuery = true)
+    void revokeAll(@Param("taskIds") Collection<Long> taskIds);
+}
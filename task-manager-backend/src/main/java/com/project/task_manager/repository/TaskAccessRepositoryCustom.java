@@ -0,0 +1,13 @@
+package com.project.task_manager.repository;
+
+import com.project.task_manager.dto.SyncToken;
+import com.project.task_manager.dto.TaskChange;
+import com.project.task_manager.dto.TaskListVersion;
+
+import java.util.List;
+
+public interface TaskAccessRepositoryCustom {
+    List<TaskChange> findChangesSince(Long userId, SyncToken since, int limit);
+
+    TaskListVersion findListVersion(Long userId);
+}
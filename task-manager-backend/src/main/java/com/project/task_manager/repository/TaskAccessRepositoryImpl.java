@@ -0,0 +1,76 @@
+package com.project.task_manager.repository;
+
+import com.project.task_manager.dto.SyncToken;
+import com.project.task_manager.dto.TaskChange;
+import com.project.task_manager.dto.TaskListVersion;
+import com.project.task_manager.enums.TaskStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.util.Date;
+import java.util.List;
+
+public class TaskAccessRepositoryImpl implements TaskAccessRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Só entrega linhas escritas por transações anteriores à mais antiga ainda em curso
+    // (xmin do snapshot). Uma transação aberta com xid menor pode confirmar depois; se o
+    // token passasse dela, o cliente nunca veria essa alteração.
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<TaskChange> findChangesSince(Long userId, SyncToken since, int limit) {
+        List<Object[]> rows = entityManager.createNativeQuery("""
+                        SELECT a.task_id, a.revoked, CAST(CAST(a.change_xid AS text) AS bigint), a.change_seq,
+                               t.title, a.status, a.deadline, o.id, o.username
+                        FROM task_access a
+                        JOIN tasks t ON t.id = a.task_id
+                        JOIN users o ON o.id = t.owner_id
+                        WHERE a.user_id = :userId
+                          AND (a.change_xid, a.change_seq) > (CAST(CAST(:sinceXid AS text) AS xid8), :sinceSeq)
+                          AND a.change_xid < pg_snapshot_xmin(pg_current_snapshot())
+                        ORDER BY a.change_xid, a.change_seq
+                        LIMIT :limit
+                        """)
+                .setParameter("userId", userId)
+                .setParameter("sinceXid", since.getXid())
+                .setParameter("sinceSeq", since.getSeq())
+                .setParameter("limit", limit)
+                .getResultList();
+
+        return rows.stream()
+                .map(row -> new TaskChange(
+                        ((Number) row[0]).longValue(),
+                        (Boolean) row[1],
+                        ((Number) row[2]).longValue(),
+                        ((Number) row[3]).longValue(),
+                        (String) row[4],
+                        row[5] != null ? TaskStatus.valueOf((String) row[5]) : null,
+                        (Date) row[6],
+                        ((Number) row[7]).longValue(),
+                        (String) row[8]))
+                .toList();
+    }
+
+    // Toda escrita grava o xid da transação nas linhas de task_access afetadas. Um commit
+    // posterior a esta leitura ou aparece entre as linhas pendentes, ou eleva o maior xid
+    // já assentado; nos dois casos a versão muda, em qualquer ordem de commit.
+    @Override
+    public TaskListVersion findListVersion(Long userId) {
+        Object[] row = (Object[]) entityManager.createNativeQuery("""
+                        SELECT (SELECT CAST(CAST(MAX(a.change_xid) AS text) AS bigint)
+                                FROM task_access a
+                                WHERE a.user_id = :userId AND a.change_xid < s.xmin) AS settled_xid,
+                               (SELECT string_agg(a.task_id || ':' || CAST(a.change_xid AS text) || ':' || a.change_seq, ','
+                                                  ORDER BY a.task_id)
+                                FROM task_access a
+                                WHERE a.user_id = :userId AND a.change_xid >= s.xmin) AS pending
+                        FROM (SELECT pg_snapshot_xmin(pg_current_snapshot()) AS xmin) s
+                        """)
+                .setParameter("userId", userId)
+                .getSingleResult();
+
+        return new TaskListVersion(row[0] != null ? ((Number) row[0]).longValue() : null, (String) row[1]);
+    }
+}
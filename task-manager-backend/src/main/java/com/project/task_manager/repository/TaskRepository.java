@@ -1,17 +1,32 @@
 package com.project.task_manager.repository;
 
+import com.project.task_manager.dto.TaskSummary;
 import com.project.task_manager.model.Task;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskRepositoryCustom {
+
+    String ACCESSIBLE_ACTIVE_TASKS = "SELECT new com.project.task_manager.dto.TaskSummary(" +
+            "t.id, t.title, a.status, a.deadline, o.id, o.username, a.createdAt) " +
+            "FROM TaskAccess a JOIN a.task t JOIN t.owner o WHERE a.userId = :userId AND a.revoked = false";
 
-public interface TaskRepository extends JpaRepository<Task, Long> {
     List<Task> findByOwnerId(Long ownerId);
 
     List<Task> findByOwnerUsername(String username);
 
-    @Query("SELECT t FROM Task t WHERE t.owner.username = :username AND t.isActive = true")
-    List<Task> findActiveTasksByOwnerUsername(@Param("username") String username);
-}
\ No newline at end of file
+    @Query("SELECT t.id FROM Task t WHERE t.id IN :ids AND t.owner.id = :ownerId AND t.isActive = true")
+    List<Long> findActiveIdsOwnedBy(@Param("ids") Collection<Long> ids, @Param("ownerId") Long ownerId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(ACCESSIBLE_ACTIVE_TASKS + " ORDER BY a.deadline ASC, a.taskId ASC")
+    Stream<TaskSummary> streamAccessibleActiveTasks(@Param("userId") Long userId);
+}
@@ -0,0 +1,13 @@
+package com.project.task_manager.repository;
+
+import com.project.task_manager.dto.TaskCursor;
+import com.project.task_manager.dto.TaskFilter;
+import com.project.task_manager.dto.TaskSummary;
+
+import java.util.List;
+
+public interface TaskRepositoryCustom {
+    List<TaskSummary> findAccessibleActiveTasks(Long userId, TaskFilter filter, TaskCursor after, int limit);
+
+    List<TaskSummary> searchAccessibleActiveTasks(Long userId, String tsQuery, int limit);
+}
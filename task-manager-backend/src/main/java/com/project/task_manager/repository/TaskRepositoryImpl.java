@@ -0,0 +1,147 @@
+package com.project.task_manager.repository;
+
+import com.project.task_manager.dto.TaskCursor;
+import com.project.task_manager.dto.TaskFilter;
+import com.project.task_manager.dto.TaskSummary;
+import com.project.task_manager.enums.TaskSort;
+import com.project.task_manager.enums.TaskStatus;
+import com.project.task_manager.model.Task;
+import com.project.task_manager.model.TaskAccess;
+import com.project.task_manager.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+public class TaskRepositoryImpl implements TaskRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TaskSummary> findAccessibleActiveTasks(Long userId, TaskFilter filter, TaskCursor after, int limit) {
+        HibernateCriteriaBuilder cb = (HibernateCriteriaBuilder) entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskSummary> query = cb.createQuery(TaskSummary.class);
+        Root<TaskAccess> access = query.from(TaskAccess.class);
+        Join<TaskAccess, Task> task = access.join("task");
+        Join<Task, User> owner = task.join("owner");
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(access.get("userId"), userId));
+        predicates.add(cb.isFalse(access.get("revoked")));
+
+        Path<Date> deadline = access.get("deadline");
+        Path<Long> id = access.get("taskId");
+        Path<Date> createdAt = access.get("createdAt");
+
+        if (filter.getStatus() != null) {
+            predicates.add(cb.equal(access.get("status"), filter.getStatus()));
+        }
+        if (filter.getDeadlineFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(deadline, filter.getDeadlineFrom()));
+        }
+        if (filter.getDeadlineTo() != null) {
+            predicates.add(cb.lessThan(deadline, filter.getDeadlineTo()));
+        }
+        if (filter.getTitle() != null && !filter.getTitle().isBlank()) {
+            // Acesso não revogado já implica tarefa ativa, mas o predicado explícito é o que deixa
+            // o planner usar o índice parcial idx_tasks_title_trgm (WHERE is_active).
+            predicates.add(cb.isTrue(task.get("isActive")));
+            predicates.add(cb.like(cb.lower(task.get("title")), containsPattern(filter.getTitle()), '\\'));
+        }
+
+        TaskSort sort = filter.getSort() != null ? filter.getSort() : TaskSort.DEADLINE;
+        if (after != null) {
+            predicates.add(keysetPredicate(cb, sort, deadline, createdAt, id, after));
+        }
+
+        query.select(cb.construct(TaskSummary.class,
+                        id, task.get("title"), access.get("status"), deadline, owner.get("id"), owner.get("username"), createdAt))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(orderFor(cb, sort, deadline, createdAt, id));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<TaskSummary> searchAccessibleActiveTasks(Long userId, String tsQuery, int limit) {
+        List<Object[]> rows = entityManager.createNativeQuery("""
+                        SELECT t.id, t.title, t.status, t.deadline, o.id, o.username, t.created_at
+                        FROM task_access a
+                        JOIN tasks t ON t.id = a.task_id
+                        JOIN users o ON o.id = t.owner_id
+                        CROSS JOIN to_tsquery('portuguese', :query) q
+                        WHERE a.user_id = :userId
+                          AND NOT a.revoked
+                          AND t.search_vector @@ q
+                        ORDER BY ts_rank(t.search_vector, q) DESC, t.id DESC
+                        LIMIT :limit
+                        """)
+                .setParameter("query", tsQuery)
+                .setParameter("userId", userId)
+                .setParameter("limit", limit)
+                .getResultList();
+
+        return rows.stream()
+                .map(row -> new TaskSummary(
+                        ((Number) row[0]).longValue(),
+                        (String) row[1],
+                        row[2] != null ? TaskStatus.valueOf((String) row[2]) : null,
+                        (Date) row[3],
+                        ((Number) row[4]).longValue(),
+                        (String) row[5],
+                        (Date) row[6]))
+                .toList();
+    }
+
+    // Prazos nulos ficam no fim da ordem crescente e no início da decrescente,
+    // como no índice (user_id, deadline, task_id); a comparação com NULL precisa de ramo próprio.
+    private Predicate keysetPredicate(CriteriaBuilder cb, TaskSort sort, Path<Date> deadline, Path<Date> createdAt,
+                                     Path<Long> id, TaskCursor after) {
+        return switch (sort) {
+            case DEADLINE -> after.getValue() == null
+                    ? cb.and(cb.isNull(deadline), cb.greaterThan(id, after.getId()))
+                    : cb.or(
+                    cb.greaterThan(deadline, after.getValue()),
+                    cb.and(cb.equal(deadline, after.getValue()), cb.greaterThan(id, after.getId())),
+                    cb.isNull(deadline));
+            case DEADLINE_DESC -> after.getValue() == null
+                    ? cb.or(cb.isNotNull(deadline), cb.lessThan(id, after.getId()))
+                    : cb.or(
+                    cb.lessThan(deadline, after.getValue()),
+                    cb.and(cb.equal(deadline, after.getValue()), cb.lessThan(id, after.getId())));
+            case NEWEST -> cb.or(
+                    cb.lessThan(createdAt, after.getValue()),
+                    cb.and(cb.equal(createdAt, after.getValue()), cb.lessThan(id, after.getId())));
+        };
+    }
+
+    private List<Order> orderFor(HibernateCriteriaBuilder cb, TaskSort sort, Path<Date> deadline, Path<Date> createdAt, Path<Long> id) {
+        return switch (sort) {
+            case DEADLINE -> List.of(cb.asc(deadline, false), cb.asc(id));
+            case DEADLINE_DESC -> List.of(cb.desc(deadline, true), cb.desc(id));
+            case NEWEST -> List.of(cb.desc(createdAt), cb.desc(id));
+        };
+    }
+
+    private String containsPattern(String term) {
+        String escaped = term.toLowerCase()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+}
@@ -3,10 +3,15 @@ package com.project.task_manager.repository;
 import com.project.task_manager.model.Task;
 import com.project.task_manager.model.TaskShared;
 import com.project.task_manager.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface TaskSharedRepository extends JpaRepository<TaskShared, Long> {
@@ -14,6 +19,8 @@ public interface TaskSharedRepository extends JpaRepository<TaskShared, Long> {
 
     boolean existsByTaskAndSharedWithUsername(Task task, String username);
 
+    boolean existsByTaskIdAndSharedWithId(Long taskId, Long userId);
+
     @Query("SELECT ts.task FROM TaskShared ts WHERE ts.sharedWith.username = :username")
     List<Task> findSharedTasksByUsername(@Param("username") String username);
 
@@ -23,5 +30,21 @@ public interface TaskSharedRepository extends JpaRepository<TaskShared, Long> {
     @Query("SELECT ts.sharedWith FROM TaskShared ts WHERE ts.task.id = :taskId")
     List<User> findUsersByTaskId(@Param("taskId") Long taskId);
 
-    void deleteAllByTaskAndSharedWithIn(Task task, List<User> sharedWith);
-}
\ No newline at end of file
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_shared"))
+    @Query(value = "DELETE FROM task_shared WHERE task_id = :taskId AND shared_with_id NOT IN (:userIds)", nativeQuery = true)
+    void deleteByTaskIdExcept(@Param("taskId") Long taskId, @Param("userIds") Collection<Long> userIds);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_shared"))
+    @Query(value = "DELETE FROM task_shared WHERE task_id = :taskId", nativeQuery = true)
+    void deleteByTaskId(@Param("taskId") Long taskId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_shared"))
+    @Query(value = "INSERT INTO task_shared (task_id, shared_with_id) " +
+            "SELECT t.id, u.id FROM tasks t JOIN users u ON u.id IN (:userIds) " +
+            "WHERE t.id IN (:taskIds) AND u.id <> t.owner_id " +
+            "ON CONFLICT (task_id, shared_with_id) DO NOTHING", nativeQuery = true)
+    void insertShares(@Param("taskIds") Collection<Long> taskIds, @Param("userIds") Collection<Long> userIds);
+}
@@ -1,10 +1,25 @@
 package com.project.task_manager.repository;
 
+import com.project.task_manager.dto.DeactivatedUser;
 import com.project.task_manager.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
-import java.util.Optional;
+import java.util.Collection;
+import java.util.List;
 
-public interface UserRepository extends JpaRepository<User, Long> {
-    Optional<User> findByUsername(String username);
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom, DeactivatedUserLookup {
+    List<User> findByUsernameIn(Collection<String> usernames);
+
+    // Resumo de todas as linhas confirmadas: muda com qualquer alteração, mesmo quando uma escrita
+    // confirmada depois tem updated_at menor que o máximo já visto (o timestamp vem do flush).
+    @Query(value = """
+            SELECT md5(string_agg(u.id || ':' || COALESCE(CAST(u.updated_at AS text), ''), ',' ORDER BY u.id))
+            FROM users u
+            """, nativeQuery = true)
+    String findListVersion();
+
+    @Override
+    @Query("SELECT new com.project.task_manager.dto.DeactivatedUser(u.id, u.statusEpoch) FROM User u WHERE u.isActive = false")
+    List<DeactivatedUser> findDeactivated();
 }
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.project.task_manager.repository;
+
+import com.project.task_manager.model.User;
+
+import java.util.Optional;
+
+public interface UserRepositoryCustom {
+    Optional<User> findByUsername(String username);
+}
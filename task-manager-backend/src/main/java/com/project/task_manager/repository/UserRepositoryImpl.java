@@ -0,0 +1,25 @@
+package com.project.task_manager.repository;
+
+import com.project.task_manager.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+// Sem readOnly: dentro de uma transação readOnly a busca segue na réplica; fora dela, vai ao primário.
+@Transactional
+public class UserRepositoryImpl implements UserRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Busca pelo natural id para aproveitar o cache username -> id e depois o cache de entidades.
+    @Override
+    public Optional<User> findByUsername(String username) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(User.class)
+                .loadOptional(username);
+    }
+}
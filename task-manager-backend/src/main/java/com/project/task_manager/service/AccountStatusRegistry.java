@@ -0,0 +1,54 @@
+package com.project.task_manager.service;
+
+import com.project.task_manager.dto.DeactivatedUser;
+import com.project.task_manager.repository.DeactivatedUserLookup;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Epoch de desativação por usuário. Tokens emitidos com um epoch menor são recusados
+// pelo JwtFilter (e pelo JwtWebFilter do app reativo) sem consultar o banco.
+// Só contas desativadas entram no mapa.
+@Component
+@RequiredArgsConstructor
+public class AccountStatusRegistry {
+
+    private final DeactivatedUserLookup deactivatedUserLookup;
+
+    private final Map<Long, Long> deactivatedAt = new ConcurrentHashMap<>();
+
+    // Recarrega periodicamente para enxergar desativações feitas por outras instâncias.
+    @PostConstruct
+    @Scheduled(fixedDelay = 30, initialDelay = 30, timeUnit = TimeUnit.SECONDS)
+    public void refresh() {
+        for (DeactivatedUser user : deactivatedUserLookup.findDeactivated()) {
+            deactivatedAt.merge(user.getId(), user.getStatusEpoch(), Math::max);
+        }
+    }
+
+    public boolean isRevoked(Long userId, long tokenEpoch) {
+        Long epoch = deactivatedAt.get(userId);
+        return epoch != null && tokenEpoch < epoch;
+    }
+
+    public void deactivateAfterCommit(Long userId, long epoch) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            deactivatedAt.merge(userId, epoch, Math::max);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                deactivatedAt.merge(userId, epoch, Math::max);
+            }
+        });
+    }
+}
@@ -0,0 +1,69 @@
+package com.project.task_manager.service;
+
+import com.project.task_manager.config.TokenBucketRateLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+// Limites de tentativas em /auth: por IP no AuthRateLimitFilter e por nome de usuário no login.
+@Component
+public class AuthRateLimiter {
+
+    private final TokenBucketRateLimiter byIp;
+    private final TokenBucketRateLimiter byUsername;
+    private final Counter rejectedByIp;
+    private final Counter rejectedByUsername;
+
+    public AuthRateLimiter(@Value("${app.auth-rate-limit.ip.capacity:20}") long ipCapacity,
+                           @Value("${app.auth-rate-limit.ip.per-minute:10}") long ipPerMinute,
+                           @Value("${app.auth-rate-limit.username.capacity:5}") long usernameCapacity,
+                           @Value("${app.auth-rate-limit.username.per-minute:5}") long usernamePerMinute,
+                           MeterRegistry registry) {
+        this.byIp = new TokenBucketRateLimiter(ipCapacity, ipPerMinute);
+        this.byUsername = new TokenBucketRateLimiter(usernameCapacity, usernamePerMinute);
+
+        this.rejectedByIp = Counter.builder("auth.rate_limit.rejected")
+                .description("Tentativas recusadas pelo limite de /auth")
+                .tag("scope", "ip")
+                .register(registry);
+        this.rejectedByUsername = Counter.builder("auth.rate_limit.rejected")
+                .description("Tentativas recusadas pelo limite de /auth")
+                .tag("scope", "username")
+                .register(registry);
+        Gauge.builder("auth.rate_limit.buckets", byIp, TokenBucketRateLimiter::size)
+                .tag("scope", "ip")
+                .register(registry);
+        Gauge.builder("auth.rate_limit.buckets", byUsername, TokenBucketRateLimiter::size)
+                .tag("scope", "username")
+                .register(registry);
+    }
+
+    // Os dois métodos retornam 0 quando liberado, senão os segundos para o Retry-After.
+    public long checkIp(String ip) {
+        return check(byIp, ip, rejectedByIp);
+    }
+
+    public long checkUsername(String username) {
+        return check(byUsername, username, rejectedByUsername);
+    }
+
+    @Scheduled(fixedDelay = 1, timeUnit = TimeUnit.MINUTES)
+    public void evictIdle() {
+        byIp.evictIdle();
+        byUsername.evictIdle();
+    }
+
+    private long check(TokenBucketRateLimiter limiter, String key, Counter rejected) {
+        long waitNanos = limiter.tryAcquire(key);
+        if (waitNanos == 0) {
+            return 0;
+        }
+        rejected.increment();
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+}
@@ -1,45 +1,92 @@
 package com.project.task_manager.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.project.task_manager.config.AuthenticatedUser;
 import com.project.task_manager.model.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.stereotype.Service;
 
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.util.Date;
+import java.util.HexFormat;
 
 @Service
 public class JwtService {
 
+    public static final String USERNAME_CLAIM = "username";
+    public static final String STATUS_EPOCH_CLAIM = "st";
+
     private final String SECRET = "curso-de-analise-e-desenvolvimento-de-sistemas";
     private final Key KEY = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
 
+    private final JwtParser parser = Jwts.parserBuilder()
+            .setSigningKey(KEY)
+            .build();
+
+    // Claims já verificados, indexados pelo SHA-256 do token e válidos até o exp do próprio token.
+    private final Cache<String, Claims> verifiedClaims = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfter(Expiry.creating((String digest, Claims claims) ->
+                    Duration.ofMillis(Math.max(0, claims.getExpiration().getTime() - System.currentTimeMillis()))))
+            .build();
+
     public String generateToken(User user) {
         return Jwts.builder()
                 .setSubject(String.valueOf(user.getId()))
+                .claim(USERNAME_CLAIM, user.getUsername())
+                .claim(STATUS_EPOCH_CLAIM, user.getStatusEpoch())
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + 86400000))
                 .signWith(KEY, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    public String extractUserId(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(KEY)
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+    // Principal montado só com os claims. Tokens emitidos antes dos claims de usuário
+    // não têm como ser validados sem o banco e são recusados como inválidos.
+    public AuthenticatedUser authenticate(String token) {
+        Claims claims = verify(token);
+        String username = claims.get(USERNAME_CLAIM, String.class);
+        Number statusEpoch = claims.get(STATUS_EPOCH_CLAIM, Number.class);
+
+        if (claims.getSubject() == null || username == null || statusEpoch == null) {
+            throw new MalformedJwtException("Token sem os claims de usuário.");
+        }
+
+        return new AuthenticatedUser(Long.valueOf(claims.getSubject()), username, statusEpoch.longValue());
+    }
+
+    public Claims verify(String token) {
+        String digest = digest(token);
+
+        Claims cached = verifiedClaims.getIfPresent(digest);
+        if (cached != null && cached.getExpiration().after(new Date())) {
+            return cached;
+        }
+
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        if (claims.getExpiration() != null) {
+            verifiedClaims.put(digest, claims);
+        }
+        return claims;
     }
 
-    public boolean isTokenValid(String token, User user) {
+    private String digest(String token) {
         try {
-            String username = extractUserId(token);
-            return username.equals(String.valueOf(user.getId()));
-        } catch (Exception e) {
-            return false;
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
         }
     }
-}
\ No newline at end of file
+}
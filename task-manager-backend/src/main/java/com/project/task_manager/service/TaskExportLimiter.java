@@ -0,0 +1,26 @@
+package com.project.task_manager.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+
+// Cada exportação segura uma conexão do pool durante todo o download, então só algumas
+// rodam ao mesmo tempo e as demais recebem 503 em vez de esgotar o pool.
+@Component
+public class TaskExportLimiter {
+
+    private final Semaphore permits;
+
+    public TaskExportLimiter(@Value("${app.task-export.max-concurrent:2}") int maxConcurrent) {
+        this.permits = new Semaphore(maxConcurrent);
+    }
+
+    public boolean tryAcquire() {
+        return permits.tryAcquire();
+    }
+
+    public void release() {
+        permits.release();
+    }
+}
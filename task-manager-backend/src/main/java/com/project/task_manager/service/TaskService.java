@@ -1,138 +1,436 @@
 package com.project.task_manager.service;
 
+import com.project.task_manager.dto.SyncToken;
+import com.project.task_manager.dto.TaskBatchResponse;
+import com.project.task_manager.dto.TaskChange;
+import com.project.task_manager.dto.TaskChangesResponse;
+import com.project.task_manager.dto.TaskCursor;
+import com.project.task_manager.dto.TaskDetailsResponse;
+import com.project.task_manager.dto.TaskFilter;
+import com.project.task_manager.dto.TaskListVersion;
+import com.project.task_manager.dto.TaskOperation;
+import com.project.task_manager.dto.TaskOperationResult;
+import com.project.task_manager.dto.TaskPageResponse;
+import com.project.task_manager.dto.TaskSummary;
+import com.project.task_manager.enums.TaskOperationType;
 import com.project.task_manager.model.Task;
-import com.project.task_manager.model.TaskShared;
 import com.project.task_manager.model.User;
+import com.project.task_manager.repository.TaskAccessRepository;
 import com.project.task_manager.repository.TaskRepository;
 import com.project.task_manager.repository.TaskSharedRepository;
 import com.project.task_manager.repository.UserRepository;
+import jakarta.persistence.CacheRetrieveMode;
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class TaskService {
 
+    public static final int MAX_PAGE_SIZE = 200;
+    public static final int MAX_SEARCH_RESULTS = 100;
+    public static final int MAX_BATCH_SIZE = 500;
+
     private final TaskRepository taskRepository;
     private final UserRepository userRepository;
     private final TaskSharedRepository taskSharedRepository;
+    private final TaskAccessRepository taskAccessRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
-    public Optional<Task> findAccessibleTaskById(Long taskId, String username) {
+    @Transactional(readOnly = true)
+    public Optional<Task> findAccessibleTaskById(Long taskId, Long userId) {
         Optional<Task> taskOptional = taskRepository.findById(taskId);
 
         if (taskOptional.isEmpty()) return Optional.empty();
 
         Task task = taskOptional.get();
 
-        if (task.getOwner().getUsername().equals(username)) {
-            return Optional.of(task);
-        }
-
-        boolean isShared = taskSharedRepository.existsByTaskAndSharedWithUsername(task, username);
-        if (isShared) {
+        boolean isOwner = task.getOwner().getId().equals(userId);
+        if (isOwner || taskSharedRepository.existsByTaskIdAndSharedWithId(taskId, userId)) {
+            // O dono é serializado junto com a tarefa, depois que a transação termina.
+            Hibernate.initialize(task.getOwner());
             return Optional.of(task);
         }
 
         return Optional.empty();
     }
 
+    @Transactional(readOnly = true)
     public List<User> findUsersByTaskId(Long taskId) {
         return taskSharedRepository.findUsersByTaskId(taskId);
     }
 
-    public List<Task> findAllAccessibleTasks(String username) {
-        List<Task> ownedTasks = taskRepository.findActiveTasksByOwnerUsername(username);
-        List<Task> sharedTasks = taskSharedRepository.findActiveSharedTasksByUsername(username);
+    // Estado atual para o corpo de um 409: lido no primário, como a escrita que falhou,
+    // e não numa réplica ou no cache L2, que ainda podem estar atrasados.
+    @Transactional
+    public Optional<TaskDetailsResponse> findCurrentTaskDetails(Long taskId, Long userId) {
+        readFromDatabase();
+        return findAccessibleTaskById(taskId, userId).map(task -> {
+            TaskDetailsResponse details = new TaskDetailsResponse();
+            details.setTask(task);
+            details.setUsers(taskSharedRepository.findUsersByTaskId(taskId));
+            return details;
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public TaskListVersion findListVersion(Long userId) {
+        return taskAccessRepository.findListVersion(userId);
+    }
+
+    @Transactional(readOnly = true)
+    public void exportAccessibleTasks(Long userId, Consumer<TaskSummary> consumer) {
+        try (Stream<TaskSummary> tasks = taskRepository.streamAccessibleActiveTasks(userId)) {
+            tasks.forEach(consumer);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public TaskChangesResponse findChangesSince(Long userId, String token, int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        SyncToken since = SyncToken.decode(token);
+
+        List<TaskChange> changes = taskAccessRepository.findChangesSince(userId, since, pageSize + 1);
+        boolean hasMore = changes.size() > pageSize;
+        if (hasMore) {
+            changes = changes.subList(0, pageSize);
+        }
 
-        Set<Task> allTasks = new HashSet<>(ownedTasks);
-        allTasks.addAll(sharedTasks);
+        List<TaskSummary> updated = new ArrayList<>();
+        List<Long> removed = new ArrayList<>();
+        for (TaskChange change : changes) {
+            if (Boolean.TRUE.equals(change.getRevoked())) {
+                removed.add(change.getTaskId());
+            } else {
+                updated.add(change.toSummary());
+            }
+        }
 
-        return new ArrayList<>(allTasks);
+        SyncToken next = since;
+        if (!changes.isEmpty()) {
+            TaskChange last = changes.get(changes.size() - 1);
+            next = new SyncToken(last.getChangeXid(), last.getChangeSeq());
+        }
+        return new TaskChangesResponse(updated, removed, next.encode(), hasMore);
     }
 
-    public Task save(String username, Task task) {
-        User user = userRepository.findByUsername(username)
+    @Transactional(readOnly = true)
+    public TaskPageResponse findAccessibleTasksPage(Long userId, TaskFilter filter, String cursor, int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        TaskCursor after = cursor == null || cursor.isBlank() ? null : TaskCursor.decode(cursor);
+
+        List<TaskSummary> tasks = taskRepository.findAccessibleActiveTasks(userId, filter, after, pageSize + 1);
+
+        if (tasks.size() <= pageSize) {
+            return new TaskPageResponse(tasks, null);
+        }
+
+        List<TaskSummary> page = new ArrayList<>(tasks.subList(0, pageSize));
+        TaskSummary last = page.get(pageSize - 1);
+        return new TaskPageResponse(page, TaskCursor.after(last, filter.getSort()).encode());
+    }
+
+    @Transactional(readOnly = true)
+    public List<TaskSummary> searchAccessibleTasks(Long userId, String text, int limit) {
+        String tsQuery = toPrefixTsQuery(text);
+        if (tsQuery.isEmpty()) {
+            throw new IllegalArgumentException("Informe um termo de busca.");
+        }
+
+        int resultSize = Math.min(Math.max(limit, 1), MAX_SEARCH_RESULTS);
+        return taskRepository.searchAccessibleActiveTasks(userId, tsQuery, resultSize);
+    }
+
+    @Transactional
+    public Task save(Long userId, Task task) {
+        validateDeadline(task);
+
+        User user = userRepository.findById(userId)
                 .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado."));
 
         task.setOwner(user);
         task.setIsActive(true);
-        return taskRepository.save(task);
+        Task saved = taskRepository.saveAndFlush(task);
+
+        taskAccessRepository.grantOwner(List.of(saved.getId()));
+        return saved;
     }
 
-    public Task update(String username, Long taskId, Task task) {
+    // expectedVersions vem do If-Match (null quando não há pré-condição). A comparação é feita
+    // aqui, com a tarefa lida no primário; o @Version cobre quem alterar entre a leitura e o flush.
+    @Transactional
+    public Task update(Long userId, Long taskId, Task task, Collection<Long> expectedVersions) {
+        validateDeadline(task);
+        readFromDatabase();
+
         Task existingTask = taskRepository.findById(taskId)
                 .orElseThrow(() -> new RuntimeException("Tarefa não encontrada."));
 
-        if (!existingTask.getOwner().getUsername().equals(username)) {
+        if (!existingTask.getOwner().getId().equals(userId)) {
             throw new SecurityException("Você não está autorizado a atualizar esta tarefa.");
         }
 
+        if (expectedVersions != null && !expectedVersions.contains(existingTask.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Task.class, taskId);
+        }
+
         existingTask.setTitle(task.getTitle());
         existingTask.setDescription(task.getDescription());
         existingTask.setStatus(task.getStatus());
         existingTask.setDeadline(task.getDeadline());
 
-        return taskRepository.save(existingTask);
+        Task saved = taskRepository.saveAndFlush(existingTask);
+        taskAccessRepository.syncTasks(List.of(saved.getId()));
+        Hibernate.initialize(saved.getOwner());
+        return saved;
     }
 
-    public void softDelete(String username, Long taskId) {
+    @Transactional
+    public void softDelete(Long userId, Long taskId) {
+        readFromDatabase();
         Task existingTask = taskRepository.findById(taskId)
                 .orElseThrow(() -> new RuntimeException("Tarefa não encontrada."));
 
-        if (!existingTask.getOwner().getUsername().equals(username)) {
+        if (!existingTask.getOwner().getId().equals(userId)) {
             throw new SecurityException("Você não está autorizado a deletar esta tarefa.");
         }
 
         existingTask.setIsActive(false);
         taskRepository.save(existingTask);
+        taskAccessRepository.revokeAll(List.of(existingTask.getId()));
     }
 
-    public void shareTaskWithUsers(Long taskId, List<String> newUsernameList, String ownerUsername) {
-        User owner = userRepository.findByUsername(ownerUsername)
-                .orElseThrow(() -> new UsernameNotFoundException("Usuário responsável não encontrado."));
+    @Transactional
+    public TaskBatchResponse applyBatch(Long userId, List<TaskOperation> operations) {
+        if (operations == null || operations.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos uma operação.");
+        }
+        if (operations.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Máximo de " + MAX_BATCH_SIZE + " operações por lote.");
+        }
+        readFromDatabase();
+
+        User owner = userRepository.getReferenceById(userId);
+
+        Set<Long> ids = operations.stream()
+                .filter(op -> op.getType() != TaskOperationType.CREATE && op.getId() != null)
+                .map(TaskOperation::getId)
+                .collect(Collectors.toSet());
+        Map<Long, Task> existing = taskRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+        // Valida o lote inteiro antes de escrever: ou todas as operações entram, ou nenhuma.
+        List<TaskOperationResult> rejected = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        for (int i = 0; i < operations.size(); i++) {
+            TaskOperationResult rejection = checkOperation(i, operations.get(i), userId, existing, seen);
+            if (rejection != null) {
+                rejected.add(rejection);
+            }
+        }
+        if (!rejected.isEmpty()) {
+            return new TaskBatchResponse(false, rejected);
+        }
+
+        List<Task> tasks = new ArrayList<>(operations.size());
+        List<Task> created = new ArrayList<>();
+        List<Long> updatedIds = new ArrayList<>();
+        List<Long> deletedIds = new ArrayList<>();
+
+        for (TaskOperation op : operations) {
+            switch (op.getType()) {
+                case CREATE -> {
+                    Task task = op.getTask();
+                    task.setId(null);
+                    task.setVersion(null);
+                    task.setOwner(owner);
+                    task.setIsActive(true);
+                    created.add(task);
+                    tasks.add(task);
+                }
+                case UPDATE -> {
+                    Task task = existing.get(op.getId());
+                    task.setTitle(op.getTask().getTitle());
+                    task.setDescription(op.getTask().getDescription());
+                    task.setStatus(op.getTask().getStatus());
+                    task.setDeadline(op.getTask().getDeadline());
+                    updatedIds.add(task.getId());
+                    tasks.add(task);
+                }
+                case DELETE -> {
+                    Task task = existing.get(op.getId());
+                    task.setIsActive(false);
+                    deletedIds.add(task.getId());
+                    tasks.add(task);
+                }
+            }
+        }
+
+        taskRepository.saveAll(created);
+        taskRepository.flush();
+
+        if (!created.isEmpty()) {
+            taskAccessRepository.grantOwner(created.stream().map(Task::getId).toList());
+        }
+        if (!updatedIds.isEmpty()) {
+            taskAccessRepository.syncTasks(updatedIds);
+        }
+        if (!deletedIds.isEmpty()) {
+            taskAccessRepository.revokeAll(deletedIds);
+        }
 
+        List<TaskOperationResult> results = new ArrayList<>(tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            results.add(new TaskOperationResult(i, operations.get(i).getType(), task.getId(), task.getVersion(), 200, null));
+        }
+        return new TaskBatchResponse(true, results);
+    }
+
+    @Transactional
+    public void shareTaskWithUsers(Long taskId, List<String> newUsernameList, Long ownerId) {
+        readFromDatabase();
         Task task = taskRepository.findById(taskId)
                 .orElseThrow(() -> new IllegalArgumentException("Tarefa não encontrada."));
 
-        if (!task.getOwner().getId().equals(owner.getId())) {
+        if (!task.getOwner().getId().equals(ownerId)) {
             throw new SecurityException("Você não está autorizado a compartilhar esta tarefa.");
         }
 
-        List<User> currentlySharedUsers = taskSharedRepository.findUsersByTaskId(taskId);
-        Set<String> currentSharedUsernames = currentlySharedUsers.stream()
-                .map(User::getUsername)
-                .collect(Collectors.toSet());
+        // Sem a lista, os compartilhamentos ficam como estão; só uma lista vazia remove todos.
+        if (newUsernameList == null) {
+            return;
+        }
 
-        Set<String> newUsernames = new HashSet<>(newUsernameList);
+        List<Long> userIds = resolveUserIds(newUsernameList, ownerId);
 
-        List<User> usersToRemove = currentlySharedUsers.stream()
-                .filter(user -> !newUsernames.contains(user.getUsername()))
-                .toList();
+        if (userIds.isEmpty()) {
+            taskSharedRepository.deleteByTaskId(taskId);
+        } else {
+            taskSharedRepository.deleteByTaskIdExcept(taskId, userIds);
+            taskSharedRepository.insertShares(List.of(taskId), userIds);
+        }
+
+        taskAccessRepository.revokeUnshared(List.of(taskId));
+        taskAccessRepository.grantShared(List.of(taskId));
+    }
 
-        if (!usersToRemove.isEmpty()) {
-            taskSharedRepository.deleteAllByTaskAndSharedWithIn(task, usersToRemove);
+    @Transactional
+    public void shareTasksWithUsers(List<Long> taskIds, List<String> usernames, Long ownerId) {
+        Set<Long> ids = taskIds == null ? Set.of() : new HashSet<>(taskIds);
+        if (ids.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos uma tarefa.");
+        }
+        if (ids.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Máximo de " + MAX_BATCH_SIZE + " tarefas por compartilhamento.");
         }
 
-        for (String usernameToAdd : newUsernames) {
-            if (currentSharedUsernames.contains(usernameToAdd) || usernameToAdd.equalsIgnoreCase(ownerUsername)) {
-                continue;
-            }
+        List<Long> ownedIds = taskRepository.findActiveIdsOwnedBy(ids, ownerId);
+        if (ownedIds.size() < ids.size()) {
+            throw new SecurityException("Você não está autorizado a compartilhar todas estas tarefas.");
+        }
 
-            User userToShareWith = userRepository.findByUsername(usernameToAdd)
-                    .orElseThrow(() -> new IllegalArgumentException("Usuário com nome de usuário " + usernameToAdd + " não encontrado."));
+        List<Long> userIds = resolveUserIds(usernames, ownerId);
+        if (userIds.isEmpty()) {
+            return;
+        }
+
+        taskSharedRepository.insertShares(ownedIds, userIds);
+        taskAccessRepository.grantShared(ownedIds);
+    }
+
+    // O cache L2 é local a cada instância e não vê escritas das outras: versões comparadas com
+    // If-Match e o corpo de um 409 vêm sempre do banco, que de quebra atualiza o cache.
+    private void readFromDatabase() {
+        entityManager.setProperty(SpecHints.HINT_SPEC_CACHE_RETRIEVE_MODE, CacheRetrieveMode.BYPASS);
+        entityManager.setProperty(SpecHints.HINT_SPEC_CACHE_STORE_MODE, CacheStoreMode.REFRESH);
+    }
 
-            TaskShared shared = new TaskShared();
-            shared.setTask(task);
-            shared.setSharedWith(userToShareWith);
-            taskSharedRepository.save(shared);
+    private TaskOperationResult checkOperation(int index, TaskOperation op, Long ownerId, Map<Long, Task> existing, Set<Long> seen) {
+        if (op.getType() == null) {
+            return reject(index, op, 400, "Tipo de operação inválido.");
         }
+        if (op.getType() != TaskOperationType.DELETE && (op.getTask() == null || op.getTask().getDeadline() == null)) {
+            return reject(index, op, 400, "Informe um prazo para a tarefa.");
+        }
+        if (op.getType() == TaskOperationType.CREATE) {
+            return null;
+        }
+
+        Task task = op.getId() != null ? existing.get(op.getId()) : null;
+        if (task == null) {
+            return reject(index, op, 404, "Tarefa não encontrada.");
+        }
+        if (!task.getOwner().getId().equals(ownerId)) {
+            return reject(index, op, 403, "Você não está autorizado a alterar esta tarefa.");
+        }
+        if (!seen.add(task.getId())) {
+            return reject(index, op, 400, "A tarefa aparece mais de uma vez no lote.");
+        }
+        if (op.getVersion() != null && !op.getVersion().equals(task.getVersion())) {
+            return reject(index, op, 409, "A tarefa foi alterada por outro usuário.");
+        }
+        return null;
+    }
+
+    private TaskOperationResult reject(int index, TaskOperation op, int status, String error) {
+        return new TaskOperationResult(index, op.getType(), op.getId(), null, status, error);
+    }
+
+    private List<Long> resolveUserIds(List<String> usernames, Long ownerId) {
+        Set<String> wanted = usernames == null ? Set.of() : new HashSet<>(usernames);
+        if (wanted.isEmpty()) {
+            return List.of();
+        }
+
+        List<User> users = userRepository.findByUsernameIn(wanted);
+        if (users.size() < wanted.size()) {
+            Set<String> found = users.stream().map(User::getUsername).collect(Collectors.toSet());
+            String missing = wanted.stream().filter(username -> !found.contains(username)).sorted().findFirst().orElseThrow();
+            throw new IllegalArgumentException("Usuário com nome de usuário " + missing + " não encontrado.");
+        }
+        return users.stream()
+                .map(User::getId)
+                .filter(id -> !id.equals(ownerId))
+                .toList();
+    }
+
+    private void validateDeadline(Task task) {
+        if (task.getDeadline() == null) {
+            throw new IllegalArgumentException("Informe um prazo para a tarefa.");
+        }
+    }
+
+    // Cada palavra vira um prefixo ("palavra:*") e todas precisam casar.
+    private String toPrefixTsQuery(String text) {
+        if (text == null) return "";
+
+        return Arrays.stream(text.split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> !term.isEmpty())
+                .map(term -> term.toLowerCase() + ":*")
+                .collect(Collectors.joining(" & "));
     }
-}
\ No newline at end of file
+}
@@ -2,15 +2,21 @@ package com.project.task_manager.service;
 
 import com.project.task_manager.dto.SignUpRequest;
 import com.project.task_manager.model.User;
+import com.project.task_manager.repository.TaskAccessRepository;
 import com.project.task_manager.repository.UserRepository;
-import jakarta.transaction.Transactional;
+import jakarta.persistence.CacheRetrieveMode;
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.SpecHints;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -20,46 +26,65 @@ import java.util.Optional;
 public class UserService implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final TaskAccessRepository taskAccessRepository;
     private final PasswordEncoder passwordEncoder;
+    private final AccountStatusRegistry accountStatusRegistry;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional(readOnly = true)
     public Optional<User> findById(Long id) {
         return userRepository.findById(id);
     }
 
+    @Transactional(readOnly = true)
     public Optional<User> findByUsername(String username) {
         return userRepository.findByUsername(username);
     }
 
+    @Transactional(readOnly = true)
     public List<User> findAll() {
         return userRepository.findAll();
     }
 
-    @Transactional
-    public void register(@Valid SignUpRequest request) {
+    @Transactional(readOnly = true)
+    public String findListVersion() {
+        return userRepository.findListVersion();
+    }
+
+    // Sem transação em volta: o BCrypt não deve segurar uma conexão do pool enquanto roda.
+    // Fora de transação readOnly, a checagem de unicidade lê do primário.
+    public User register(@Valid SignUpRequest request) {
         if (userRepository.findByUsername(request.getUsername()).isPresent()) {
             throw new IllegalArgumentException("Username já está em uso.");
         }
 
+        String passwordHash = passwordEncoder.encode(request.getPassword());
+
         User newUser = User.builder()
                 .name(request.getName())
                 .username(request.getUsername())
-                .passwordHash(passwordEncoder.encode(request.getPassword()))
+                .passwordHash(passwordHash)
                 .profilePicture(request.getProfilePicture())
                 .isActive(true)
                 .build();
 
-        userRepository.save(newUser);
+        return userRepository.save(newUser);
     }
 
     @Transactional
-    public void update(String username, Long id, User newUser) {
+    public void update(Long principalId, Long id, User newUser) {
+        readFromDatabase();
         User existingUser = userRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Usuário não encontrado."));
 
-        if (!existingUser.getUsername().equals(username)) {
+        if (!existingUser.getId().equals(principalId)) {
             throw new SecurityException("Você não está autorizado a atualizar este usuário.");
         }
 
+        boolean usernameChanged = !existingUser.getUsername().equals(newUser.getUsername());
+
         existingUser.setName(newUser.getName());
         existingUser.setUsername(newUser.getUsername());
 
@@ -68,23 +93,34 @@ public class UserService implements UserDetailsService {
         }
 
         userRepository.save(existingUser);
+
+        // O nome de usuário do dono aparece nas listagens de tarefas.
+        if (usernameChanged) {
+            taskAccessRepository.touchTasksOwnedBy(existingUser.getId());
+        }
     }
 
     @Transactional
-    public void softDelete(String username, Long id) {
+    public void softDelete(Long principalId, Long id) {
+        readFromDatabase();
         User existingUser = userRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Usuário não encontrado."));
 
-        if (!existingUser.getUsername().equals(username)) {
+        if (!existingUser.getId().equals(principalId)) {
             throw new SecurityException("Você não está autorizado a deletar este usuário.");
         }
 
         existingUser.setIsActive(false);
+        existingUser.setStatusEpoch(existingUser.getStatusEpoch() + 1);
         userRepository.save(existingUser);
+        accountStatusRegistry.deactivateAfterCommit(existingUser.getId(), existingUser.getStatusEpoch());
     }
 
+    // Autenticação sempre no primário e fora do cache L2: senha e status precisam estar atualizados.
     @Override
+    @Transactional
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        readFromDatabase();
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado."));
 
@@ -92,11 +128,13 @@ public class UserService implements UserDetailsService {
                 .withUsername(user.getUsername())
                 .password(user.getPasswordHash())
                 .roles("USER")
+                .disabled(Boolean.FALSE.equals(user.getIsActive()))
                 .build();
     }
 
     @Transactional
     public void saveProfilePicture(Long userId, String image) {
+        readFromDatabase();
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("Usuário não encontrado."));
 
@@ -107,4 +145,10 @@ public class UserService implements UserDetailsService {
         user.setProfilePicture(image);
         userRepository.save(user);
     }
-}
\ No newline at end of file
+
+    // Escritas partem do estado no banco, não do cache L2 desta instância.
+    private void readFromDatabase() {
+        entityManager.setProperty(SpecHints.HINT_SPEC_CACHE_RETRIEVE_MODE, CacheRetrieveMode.BYPASS);
+        entityManager.setProperty(SpecHints.HINT_SPEC_CACHE_STORE_MODE, CacheStoreMode.REFRESH);
+    }
+}
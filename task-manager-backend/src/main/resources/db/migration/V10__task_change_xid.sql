@@ -0,0 +1,7 @@
+-- change_seq vem de nextval na hora da escrita, não do commit: uma transação com seq menor pode
+-- confirmar depois que o cliente já passou dela. O feed passa a andar por (xid da transação que
+-- escreveu, change_seq) e só entrega linhas de transações anteriores à mais antiga ainda em curso.
+ALTER TABLE task_access ADD COLUMN change_xid xid8 NOT NULL DEFAULT pg_current_xact_id();
+
+DROP INDEX idx_task_access_user_change_seq;
+CREATE INDEX idx_task_access_user_change ON task_access (user_id, change_xid, change_seq);
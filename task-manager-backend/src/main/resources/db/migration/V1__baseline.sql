@@ -0,0 +1,27 @@
+-- Esquema que antes era criado pelo ddl-auto=update. Idempotente para que
+-- bancos existentes possam ser adotados pelo Flyway (baseline-on-migrate).
+
+CREATE TABLE IF NOT EXISTS users (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name            VARCHAR(255) NOT NULL,
+    username        VARCHAR(255) NOT NULL UNIQUE,
+    password_hash   VARCHAR(255) NOT NULL UNIQUE,
+    is_active       BOOLEAN,
+    profile_picture TEXT
+);
+
+CREATE TABLE IF NOT EXISTS tasks (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title       VARCHAR(255),
+    description VARCHAR(255),
+    status      VARCHAR(255),
+    deadline    TIMESTAMP(6),
+    is_active   BOOLEAN,
+    owner_id    BIGINT REFERENCES users (id)
+);
+
+CREATE TABLE IF NOT EXISTS task_shared (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    task_id        BIGINT REFERENCES tasks (id),
+    shared_with_id BIGINT REFERENCES users (id)
+);
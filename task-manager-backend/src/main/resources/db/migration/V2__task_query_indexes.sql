@@ -0,0 +1,24 @@
+-- Busca textual (GET /tasks/search)
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (to_tsvector('portuguese', coalesce(title, '') || ' ' || coalesce(description, ''))) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_tasks_search_vector ON tasks USING GIN (search_vector);
+
+-- Filtro por título (lower(title) LIKE '%...%')
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_tasks_title_trgm ON tasks USING GIN (lower(title) gin_trgm_ops) WHERE is_active;
+
+-- Listagem das tarefas do dono, paginada por (deadline, id)
+CREATE INDEX IF NOT EXISTS idx_tasks_owner_active_deadline ON tasks (owner_id, deadline, id) WHERE is_active;
+
+-- Compartilhamentos: remove duplicados antes de garantir unicidade
+DELETE FROM task_shared a
+    USING task_shared b
+    WHERE a.task_id = b.task_id
+      AND a.shared_with_id = b.shared_with_id
+      AND a.id > b.id;
+
+ALTER TABLE task_shared ADD CONSTRAINT uk_task_shared_task_user UNIQUE (task_id, shared_with_id);
+
+CREATE INDEX IF NOT EXISTS idx_task_shared_user_task ON task_shared (shared_with_id, task_id);
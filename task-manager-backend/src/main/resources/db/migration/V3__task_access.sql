@@ -0,0 +1,23 @@
+CREATE TABLE task_access (
+    user_id  BIGINT       NOT NULL REFERENCES users (id),
+    task_id  BIGINT       NOT NULL REFERENCES tasks (id),
+    role     VARCHAR(255) NOT NULL,
+    deadline TIMESTAMP(6),
+    status   VARCHAR(255),
+    PRIMARY KEY (user_id, task_id)
+);
+
+CREATE INDEX idx_task_access_user_deadline ON task_access (user_id, deadline, task_id);
+CREATE INDEX idx_task_access_task ON task_access (task_id);
+
+INSERT INTO task_access (user_id, task_id, role, deadline, status)
+SELECT t.owner_id, t.id, 'OWNER', t.deadline, t.status
+FROM tasks t
+WHERE t.is_active = true AND t.owner_id IS NOT NULL;
+
+INSERT INTO task_access (user_id, task_id, role, deadline, status)
+SELECT ts.shared_with_id, t.id, 'SHARED', t.deadline, t.status
+FROM task_shared ts
+JOIN tasks t ON t.id = ts.task_id
+WHERE t.is_active = true AND ts.shared_with_id <> t.owner_id
+ON CONFLICT (user_id, task_id) DO NOTHING;
@@ -0,0 +1,3 @@
+ALTER TABLE users ADD COLUMN updated_at TIMESTAMP(6) NOT NULL DEFAULT now();
+ALTER TABLE tasks ADD COLUMN updated_at TIMESTAMP(6) NOT NULL DEFAULT now();
+ALTER TABLE task_access ADD COLUMN updated_at TIMESTAMP(6) NOT NULL DEFAULT now();
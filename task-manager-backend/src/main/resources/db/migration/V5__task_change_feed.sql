@@ -0,0 +1,10 @@
+CREATE SEQUENCE task_change_seq;
+
+ALTER TABLE task_access ADD COLUMN revoked BOOLEAN NOT NULL DEFAULT false;
+ALTER TABLE task_access ADD COLUMN change_seq BIGINT NOT NULL DEFAULT nextval('task_change_seq');
+
+-- Linhas revogadas ficam como tombstones para a sincronização incremental.
+DROP INDEX idx_task_access_user_deadline;
+CREATE INDEX idx_task_access_user_deadline ON task_access (user_id, deadline, task_id) WHERE NOT revoked;
+
+CREATE INDEX idx_task_access_user_change_seq ON task_access (user_id, change_seq);
@@ -0,0 +1,20 @@
+-- IDENTITY impede o Hibernate de agrupar INSERTs em lote. As tabelas passam a usar
+-- sequências com incremento 50 (otimizador pooled), começando depois do maior id atual.
+
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE tasks ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE task_shared ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+CREATE SEQUENCE IF NOT EXISTS users_seq INCREMENT BY 50 OWNED BY users.id;
+CREATE SEQUENCE IF NOT EXISTS tasks_seq INCREMENT BY 50 OWNED BY tasks.id;
+CREATE SEQUENCE IF NOT EXISTS task_shared_seq INCREMENT BY 50 OWNED BY task_shared.id;
+
+SELECT setval('users_seq', COALESCE((SELECT MAX(id) FROM users), 0) + 50, false);
+SELECT setval('tasks_seq', COALESCE((SELECT MAX(id) FROM tasks), 0) + 50, false);
+SELECT setval('task_shared_seq', COALESCE((SELECT MAX(id) FROM task_shared), 0) + 50, false);
+
+-- Cada nextval reserva o bloco (valor - 49, valor], então inserts fora do Hibernate
+-- podem usar o próprio valor sem colidir com os blocos em uso pela aplicação.
+ALTER TABLE users ALTER COLUMN id SET DEFAULT nextval('users_seq');
+ALTER TABLE tasks ALTER COLUMN id SET DEFAULT nextval('tasks_seq');
+ALTER TABLE task_shared ALTER COLUMN id SET DEFAULT nextval('task_shared_seq');
@@ -0,0 +1,5 @@
+-- Incrementado a cada desativação; tokens emitidos antes disso deixam de valer.
+ALTER TABLE users ADD COLUMN IF NOT EXISTS status_epoch BIGINT NOT NULL DEFAULT 0;
+
+-- Contas já desativadas ficam com um epoch acima do de qualquer token emitido.
+UPDATE users SET status_epoch = 1 WHERE is_active = false;
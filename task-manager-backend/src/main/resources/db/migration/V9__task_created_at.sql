@@ -0,0 +1,10 @@
+-- Ids vêm de blocos de sequência por nó e não seguem a ordem de criação; "-created" passa a
+-- ordenar por created_at. Tarefas existentes recebem o mesmo valor e mantêm a ordem por id.
+-- Milissegundos, como java.util.Date, para que o cursor compare por igualdade.
+ALTER TABLE tasks ADD COLUMN created_at TIMESTAMP(6) NOT NULL DEFAULT date_trunc('milliseconds', now());
+
+ALTER TABLE task_access ADD COLUMN created_at TIMESTAMP(6);
+UPDATE task_access a SET created_at = t.created_at FROM tasks t WHERE t.id = a.task_id;
+ALTER TABLE task_access ALTER COLUMN created_at SET NOT NULL;
+
+CREATE INDEX idx_task_access_user_created ON task_access (user_id, created_at, task_id) WHERE NOT revoked;
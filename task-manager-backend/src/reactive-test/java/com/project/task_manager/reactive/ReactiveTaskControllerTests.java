@@ -0,0 +1,115 @@
+package com.project.task_manager.reactive;
+
+import com.project.task_manager.TaskManagerApplication;
+import com.project.task_manager.enums.TaskStatus;
+import com.project.task_manager.model.Task;
+import com.project.task_manager.model.User;
+import com.project.task_manager.repository.UserRepository;
+import com.project.task_manager.service.JwtService;
+import com.project.task_manager.service.TaskService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+// O app principal sobe ao lado, numa porta aleatória, para criar os dados e servir de referência
+// para os ETags: as duas leituras precisam validar o mesmo cache do cliente.
+@SpringBootTest(classes = ReactiveTaskReadApplication.class,
+		webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+		properties = "spring.main.web-application-type=reactive")
+@ActiveProfiles("reactive")
+class ReactiveTaskControllerTests {
+
+	private static ConfigurableApplicationContext servletApp;
+	private static WebTestClient servletClient;
+	private static String token;
+	private static Task task;
+
+	@Autowired
+	private WebTestClient webTestClient;
+
+	@BeforeAll
+	static void startServletApp() {
+		// Sem cache L2: o CacheManager do JCache é global na JVM e fechá-lo no @AfterAll
+		// derrubaria os contextos dos outros testes.
+		servletApp = new SpringApplicationBuilder(TaskManagerApplication.class)
+				.run("--server.port=0", "--spring.jpa.properties.hibernate.cache.use_second_level_cache=false");
+		int port = ((WebServerApplicationContext) servletApp).getWebServer().getPort();
+		servletClient = WebTestClient.bindToServer().baseUrl("http://localhost:" + port).build();
+
+		UserRepository userRepository = servletApp.getBean(UserRepository.class);
+		TaskService taskService = servletApp.getBean(TaskService.class);
+
+		User user = userRepository.save(newUser());
+		User collaborator = userRepository.save(newUser());
+		task = taskService.save(user.getId(), Task.builder()
+				.title("Tarefa")
+				.status(TaskStatus.TO_DO)
+				.deadline(new Date())
+				.build());
+		taskService.shareTaskWithUsers(task.getId(), List.of(collaborator.getUsername()), user.getId());
+		token = servletApp.getBean(JwtService.class).generateToken(user);
+	}
+
+	@AfterAll
+	static void stopServletApp() {
+		servletApp.close();
+	}
+
+	@Test
+	void listTasksMatchesServletETagAndRevalidates() {
+		assertSameETagAndNotModified("/tasks?sort=deadline&limit=10");
+	}
+
+	@Test
+	void taskDetailsMatchServletETagAndRevalidate() {
+		assertSameETagAndNotModified("/tasks/" + task.getId());
+	}
+
+	private void assertSameETagAndNotModified(String uri) {
+		String servletETag = servletClient.get().uri(uri)
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+				.exchange()
+				.expectStatus().isOk()
+				.returnResult(String.class).getResponseHeaders().getETag();
+		assertNotNull(servletETag);
+
+		String reactiveETag = webTestClient.get().uri(uri)
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+				.exchange()
+				.expectStatus().isOk()
+				.returnResult(String.class).getResponseHeaders().getETag();
+		assertEquals(servletETag, reactiveETag);
+
+		webTestClient.get().uri(uri)
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+				.header(HttpHeaders.IF_NONE_MATCH, servletETag)
+				.exchange()
+				.expectStatus().isNotModified()
+				.expectHeader().valueEquals(HttpHeaders.ETAG, servletETag)
+				.expectBody().isEmpty();
+	}
+
+	private static User newUser() {
+		return User.builder()
+				.name("Teste")
+				.username("user-" + UUID.randomUUID())
+				.passwordHash(UUID.randomUUID().toString())
+				.isActive(true)
+				.build();
+	}
+}
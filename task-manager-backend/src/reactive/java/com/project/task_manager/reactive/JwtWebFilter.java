@@ -0,0 +1,66 @@
+package com.project.task_manager.reactive;
+
+import com.project.task_manager.config.AuthenticatedUser;
+import com.project.task_manager.service.AccountStatusRegistry;
+import com.project.task_manager.service.JwtService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+
+// Equivalente reativo do JwtFilter, com as mesmas respostas de erro.
+@RequiredArgsConstructor
+public class JwtWebFilter implements WebFilter {
+
+    private final JwtService jwtService;
+    private final AccountStatusRegistry accountStatusRegistry;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String authHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return chain.filter(exchange);
+        }
+
+        AuthenticatedUser user;
+
+        try {
+            user = jwtService.authenticate(authHeader.substring(7));
+        } catch (io.jsonwebtoken.ExpiredJwtException ex) {
+            return unauthorized(exchange, "Token expirado. Faça login novamente.");
+        } catch (io.jsonwebtoken.JwtException ex) {
+            return unauthorized(exchange, "Token inválido.");
+        }
+
+        if (accountStatusRegistry.isRevoked(user.id(), user.statusEpoch())) {
+            return unauthorized(exchange, "Conta desativada. Faça login novamente.");
+        }
+
+        UsernamePasswordAuthenticationToken authToken =
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+
+        return chain.filter(exchange)
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authToken));
+    }
+
+    private Mono<Void> unauthorized(ServerWebExchange exchange, String message) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.UNAUTHORIZED);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+
+        byte[] body = ("{\"message\":\"" + message + "\"}").getBytes(StandardCharsets.UTF_8);
+        DataBuffer buffer = response.bufferFactory().wrap(body);
+        return response.writeWith(Mono.just(buffer));
+    }
+}
@@ -0,0 +1,30 @@
+package com.project.task_manager.reactive;
+
+import com.project.task_manager.dto.DeactivatedUser;
+import com.project.task_manager.repository.DeactivatedUserLookup;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Alimenta o mesmo AccountStatusRegistry do app principal via R2DBC.
+@Profile("reactive")
+@Component
+@RequiredArgsConstructor
+public class ReactiveDeactivatedUsers implements DeactivatedUserLookup {
+
+    private final DatabaseClient databaseClient;
+
+    // Chamado só pelo refresh do registro, na inicialização ou na thread do agendador,
+    // nunca no event loop, então pode esperar a consulta.
+    @Override
+    public List<DeactivatedUser> findDeactivated() {
+        return databaseClient.sql("SELECT id, status_epoch FROM users WHERE is_active = false")
+                .map(row -> new DeactivatedUser(row.get("id", Long.class), row.get("status_epoch", Long.class)))
+                .all()
+                .collectList()
+                .block();
+    }
+}
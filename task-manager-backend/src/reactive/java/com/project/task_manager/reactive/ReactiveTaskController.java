@@ -0,0 +1,113 @@
+package com.project.task_manager.reactive;
+
+import com.project.task_manager.config.AuthenticatedUser;
+import com.project.task_manager.controller.ETags;
+import com.project.task_manager.dto.TaskCursor;
+import com.project.task_manager.dto.TaskDetailsResponse;
+import com.project.task_manager.dto.TaskFilter;
+import com.project.task_manager.dto.TaskPageResponse;
+import com.project.task_manager.dto.TaskSummary;
+import com.project.task_manager.enums.TaskSort;
+import com.project.task_manager.enums.TaskStatus;
+import com.project.task_manager.service.TaskService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+// Mesmos contratos (parâmetros, corpo e ETag) dos endpoints de leitura do TaskController.
+@Profile("reactive")
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/tasks")
+public class ReactiveTaskController {
+
+    private final ReactiveTaskReader taskReader;
+
+    @GetMapping
+    public Mono<ResponseEntity<?>> listAllAccessibleTasks(@AuthenticationPrincipal AuthenticatedUser principal,
+                                                          @RequestParam(required = false) TaskStatus status,
+                                                          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date deadlineFrom,
+                                                          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date deadlineTo,
+                                                          @RequestParam(required = false) String title,
+                                                          @RequestParam(defaultValue = "deadline") String sort,
+                                                          @RequestParam(required = false) String cursor,
+                                                          @RequestParam(defaultValue = "50") int limit,
+                                                          ServerWebExchange exchange) {
+        return taskReader.findListVersion(principal.id()).flatMap(version -> {
+            String etag = ETags.of(principal.id(), version.getSettledXid(), version.getPending(),
+                    status, deadlineFrom, deadlineTo, title, sort, cursor, limit);
+
+            if (exchange.checkNotModified(etag)) {
+                return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build());
+            }
+
+            return Mono.defer(() -> findPage(principal.id(),
+                            new TaskFilter(status, deadlineFrom, deadlineTo, title, TaskSort.fromKey(sort)), cursor, limit))
+                    .<ResponseEntity<?>>map(page -> ResponseEntity.ok().eTag(etag).cacheControl(ETags.REVALIDATE).body(page))
+                    .onErrorResume(IllegalArgumentException.class, e -> Mono.just(ResponseEntity.badRequest().body(e.getMessage())));
+        });
+    }
+
+    // Cada tarefa vai para a resposta assim que a linha chega do banco.
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<TaskSummary> exportTasks(@AuthenticationPrincipal AuthenticatedUser principal) {
+        return taskReader.streamAccessibleActiveTasks(principal.id());
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<?>> listAccessibleTaskById(@AuthenticationPrincipal AuthenticatedUser principal, @PathVariable Long id) {
+        return taskReader.findAccessibleTask(id, principal.id())
+                .zipWith(taskReader.findUsersByTaskId(id).collectList())
+                .<ResponseEntity<?>>map(found -> {
+                    TaskDetailsResponse taskDetailsResponse = new TaskDetailsResponse();
+                    taskDetailsResponse.setTask(found.getT1());
+                    taskDetailsResponse.setUsers(found.getT2());
+                    return ResponseEntity.ok()
+                            .eTag(ETags.ofTask(found.getT1(), found.getT2()))
+                            .cacheControl(ETags.REVALIDATE)
+                            .body(taskDetailsResponse);
+                })
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.NOT_FOUND).body("Tarefa não encontrada"));
+    }
+
+    @GetMapping("/{taskId}/shared-users")
+    public Mono<ResponseEntity<?>> getUsersByTaskId(@AuthenticationPrincipal AuthenticatedUser principal, @PathVariable Long taskId) {
+        return taskReader.findAccessibleTask(taskId, principal.id())
+                .flatMap(task -> taskReader.findUsersByTaskId(taskId).collectList())
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.NOT_FOUND).body("Tarefa não encontrada"));
+    }
+
+    private Mono<TaskPageResponse> findPage(Long userId, TaskFilter filter, String cursor, int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), TaskService.MAX_PAGE_SIZE);
+        TaskCursor after = cursor == null || cursor.isBlank() ? null : TaskCursor.decode(cursor);
+
+        return taskReader.findAccessibleActiveTasks(userId, filter, after, pageSize + 1)
+                .collectList()
+                .map(tasks -> {
+                    if (tasks.size() <= pageSize) {
+                        return new TaskPageResponse(tasks, null);
+                    }
+
+                    List<TaskSummary> page = new ArrayList<>(tasks.subList(0, pageSize));
+                    TaskSummary last = page.get(pageSize - 1);
+                    return new TaskPageResponse(page, TaskCursor.after(last, filter.getSort()).encode());
+                });
+    }
+}
@@ -0,0 +1,210 @@
+package com.project.task_manager.reactive;
+
+import com.project.task_manager.dto.TaskCursor;
+import com.project.task_manager.dto.TaskFilter;
+import com.project.task_manager.dto.TaskListVersion;
+import com.project.task_manager.dto.TaskSummary;
+import com.project.task_manager.enums.TaskSort;
+import com.project.task_manager.enums.TaskStatus;
+import com.project.task_manager.model.Task;
+import com.project.task_manager.model.User;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Consultas de leitura em SQL com as mesmas regras de visibilidade do TaskService:
+// listagens vêm de task_access (não revogadas) e o detalhe exige ser dono ou ter a
+// tarefa compartilhada. Datas seguem o fuso da JVM, como no driver JDBC.
+@Profile("reactive")
+@Component
+@RequiredArgsConstructor
+public class ReactiveTaskReader {
+
+    private static final String ACCESSIBLE_ACTIVE_TASKS = """
+            SELECT a.task_id, t.title, a.status, a.deadline, o.id AS owner_id, o.username AS owner_username, a.created_at
+            FROM task_access a
+            JOIN tasks t ON t.id = a.task_id
+            JOIN users o ON o.id = t.owner_id
+            WHERE a.user_id = :userId AND NOT a.revoked
+            """;
+
+    private final DatabaseClient databaseClient;
+
+    // Mesma versão de TaskAccessRepositoryImpl.findListVersion.
+    public Mono<TaskListVersion> findListVersion(Long userId) {
+        return databaseClient.sql("""
+                        SELECT (SELECT CAST(CAST(MAX(a.change_xid) AS text) AS bigint)
+                                FROM task_access a
+                                WHERE a.user_id = :userId AND a.change_xid < s.xmin) AS settled_xid,
+                               (SELECT string_agg(a.task_id || ':' || CAST(a.change_xid AS text) || ':' || a.change_seq, ','
+                                                  ORDER BY a.task_id)
+                                FROM task_access a
+                                WHERE a.user_id = :userId AND a.change_xid >= s.xmin) AS pending
+                        FROM (SELECT pg_snapshot_xmin(pg_current_snapshot()) AS xmin) s
+                        """)
+                .bind("userId", userId)
+                .map(row -> new TaskListVersion(row.get("settled_xid", Long.class), row.get("pending", String.class)))
+                .one();
+    }
+
+    public Flux<TaskSummary> findAccessibleActiveTasks(Long userId, TaskFilter filter, TaskCursor after, int limit) {
+        StringBuilder sql = new StringBuilder(ACCESSIBLE_ACTIVE_TASKS);
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("userId", userId);
+
+        if (filter.getStatus() != null) {
+            sql.append(" AND a.status = :status");
+            params.put("status", filter.getStatus().name());
+        }
+        if (filter.getDeadlineFrom() != null) {
+            sql.append(" AND a.deadline >= :deadlineFrom");
+            params.put("deadlineFrom", toLocalDateTime(filter.getDeadlineFrom()));
+        }
+        if (filter.getDeadlineTo() != null) {
+            sql.append(" AND a.deadline < :deadlineTo");
+            params.put("deadlineTo", toLocalDateTime(filter.getDeadlineTo()));
+        }
+        if (filter.getTitle() != null && !filter.getTitle().isBlank()) {
+            // t.is_active casa com o predicado do índice parcial de trigramas.
+            sql.append(" AND t.is_active AND lower(t.title) LIKE :title ESCAPE '\\'");
+            params.put("title", containsPattern(filter.getTitle()));
+        }
+
+        TaskSort sort = filter.getSort() != null ? filter.getSort() : TaskSort.DEADLINE;
+        if (after != null) {
+            boolean nullValue = after.getValue() == null;
+            sql.append(switch (sort) {
+                case DEADLINE -> nullValue
+                        ? " AND a.deadline IS NULL AND a.task_id > :afterId"
+                        : " AND (a.deadline > :afterDeadline OR (a.deadline = :afterDeadline AND a.task_id > :afterId) OR a.deadline IS NULL)";
+                case DEADLINE_DESC -> nullValue
+                        ? " AND (a.deadline IS NOT NULL OR a.task_id < :afterId)"
+                        : " AND (a.deadline < :afterDeadline OR (a.deadline = :afterDeadline AND a.task_id < :afterId))";
+                case NEWEST -> " AND (a.created_at < :afterCreatedAt OR (a.created_at = :afterCreatedAt AND a.task_id < :afterId))";
+            });
+            if (sort == TaskSort.NEWEST) {
+                params.put("afterCreatedAt", toLocalDateTime(after.getValue()));
+            } else if (!nullValue) {
+                params.put("afterDeadline", toLocalDateTime(after.getValue()));
+            }
+            params.put("afterId", after.getId());
+        }
+
+        sql.append(switch (sort) {
+            case DEADLINE -> " ORDER BY a.deadline ASC NULLS LAST, a.task_id ASC";
+            case DEADLINE_DESC -> " ORDER BY a.deadline DESC NULLS FIRST, a.task_id DESC";
+            case NEWEST -> " ORDER BY a.created_at DESC, a.task_id DESC";
+        });
+        sql.append(" LIMIT :limit");
+        params.put("limit", limit);
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString());
+        for (Map.Entry<String, Object> param : params.entrySet()) {
+            spec = spec.bind(param.getKey(), param.getValue());
+        }
+        return spec.map(this::toSummary).all();
+    }
+
+    public Flux<TaskSummary> streamAccessibleActiveTasks(Long userId) {
+        return databaseClient.sql(ACCESSIBLE_ACTIVE_TASKS + " ORDER BY a.deadline ASC NULLS LAST, a.task_id ASC")
+                .bind("userId", userId)
+                .map(this::toSummary)
+                .all();
+    }
+
+    public Mono<Task> findAccessibleTask(Long taskId, Long userId) {
+        return databaseClient.sql("""
+                        SELECT t.id, t.title, t.description, t.status, t.deadline, t.is_active, t.created_at, t.updated_at, t.version,
+                               o.id AS owner_id, o.name AS owner_name, o.username AS owner_username,
+                               o.is_active AS owner_is_active, o.profile_picture AS owner_profile_picture,
+                               o.updated_at AS owner_updated_at
+                        FROM tasks t
+                        JOIN users o ON o.id = t.owner_id
+                        WHERE t.id = :taskId
+                          AND (t.owner_id = :userId
+                               OR EXISTS (SELECT 1 FROM task_shared s WHERE s.task_id = t.id AND s.shared_with_id = :userId))
+                        """)
+                .bind("taskId", taskId)
+                .bind("userId", userId)
+                .map(row -> Task.builder()
+                        .id(row.get("id", Long.class))
+                        .title(row.get("title", String.class))
+                        .description(row.get("description", String.class))
+                        .status(toStatus(row.get("status", String.class)))
+                        .deadline(toDate(row.get("deadline", LocalDateTime.class)))
+                        .isActive(row.get("is_active", Boolean.class))
+                        .createdAt(toDate(row.get("created_at", LocalDateTime.class)))
+                        .updatedAt(toDate(row.get("updated_at", LocalDateTime.class)))
+                        .version(row.get("version", Long.class))
+                        .owner(User.builder()
+                                .id(row.get("owner_id", Long.class))
+                                .name(row.get("owner_name", String.class))
+                                .username(row.get("owner_username", String.class))
+                                .isActive(row.get("owner_is_active", Boolean.class))
+                                .profilePicture(row.get("owner_profile_picture", String.class))
+                                .updatedAt(toDate(row.get("owner_updated_at", LocalDateTime.class)))
+                                .build())
+                        .build())
+                .one();
+    }
+
+    public Flux<User> findUsersByTaskId(Long taskId) {
+        return databaseClient.sql("""
+                        SELECT u.id, u.name, u.username, u.is_active, u.profile_picture, u.updated_at
+                        FROM task_shared s
+                        JOIN users u ON u.id = s.shared_with_id
+                        WHERE s.task_id = :taskId
+                        """)
+                .bind("taskId", taskId)
+                .map(row -> User.builder()
+                        .id(row.get("id", Long.class))
+                        .name(row.get("name", String.class))
+                        .username(row.get("username", String.class))
+                        .isActive(row.get("is_active", Boolean.class))
+                        .profilePicture(row.get("profile_picture", String.class))
+                        .updatedAt(toDate(row.get("updated_at", LocalDateTime.class)))
+                        .build())
+                .all();
+    }
+
+    private TaskSummary toSummary(Readable row) {
+        return new TaskSummary(
+                row.get("task_id", Long.class),
+                row.get("title", String.class),
+                toStatus(row.get("status", String.class)),
+                toDate(row.get("deadline", LocalDateTime.class)),
+                row.get("owner_id", Long.class),
+                row.get("owner_username", String.class),
+                toDate(row.get("created_at", LocalDateTime.class)));
+    }
+
+    private static TaskStatus toStatus(String status) {
+        return status != null ? TaskStatus.valueOf(status) : null;
+    }
+
+    private static Date toDate(LocalDateTime value) {
+        return value != null ? Date.from(value.atZone(ZoneId.systemDefault()).toInstant()) : null;
+    }
+
+    private static LocalDateTime toLocalDateTime(Date value) {
+        return LocalDateTime.ofInstant(value.toInstant(), ZoneId.systemDefault());
+    }
+
+    private static String containsPattern(String term) {
+        String escaped = term.toLowerCase()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+}
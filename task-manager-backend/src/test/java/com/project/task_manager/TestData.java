@@ -0,0 +1,34 @@
+package com.project.task_manager;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.Collection;
+import java.util.Map;
+
+// Limpeza para testes que confirmam transações de verdade: apaga os usuários criados e
+// tudo o que depende deles (tarefas, compartilhamentos e task_access).
+public final class TestData {
+
+	private TestData() {
+	}
+
+	public static void deleteUsers(JdbcTemplate jdbcTemplate, Collection<Long> userIds) {
+		if (userIds.isEmpty()) {
+			return;
+		}
+
+		NamedParameterJdbcTemplate jdbc = new NamedParameterJdbcTemplate(jdbcTemplate);
+		Map<String, Object> ids = Map.of("ids", userIds);
+		jdbc.update("""
+				DELETE FROM task_access
+				WHERE user_id IN (:ids) OR task_id IN (SELECT id FROM tasks WHERE owner_id IN (:ids))
+				""", ids);
+		jdbc.update("""
+				DELETE FROM task_shared
+				WHERE shared_with_id IN (:ids) OR task_id IN (SELECT id FROM tasks WHERE owner_id IN (:ids))
+				""", ids);
+		jdbc.update("DELETE FROM tasks WHERE owner_id IN (:ids)", ids);
+		jdbc.update("DELETE FROM users WHERE id IN (:ids)", ids);
+	}
+}
@@ -0,0 +1,83 @@
+package com.project.task_manager.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TokenBucketRateLimiterTests {
+
+	// 3 tokens, um a cada 10 segundos.
+	private static final long CAPACITY = 3;
+	private static final long NANOS_PER_TOKEN = TimeUnit.SECONDS.toNanos(10);
+
+	private final AtomicLong now = new AtomicLong(1_000);
+	private final TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(CAPACITY, 6, now::get);
+
+	@Test
+	void exhaustedBucketReportsTimeUntilNextToken() {
+		exhaust("a");
+
+		assertEquals(NANOS_PER_TOKEN, limiter.tryAcquire("a"));
+
+		advance(TimeUnit.SECONDS.toNanos(4));
+		assertEquals(TimeUnit.SECONDS.toNanos(6), limiter.tryAcquire("a"));
+
+		// Outra chave tem o próprio bucket.
+		assertEquals(0, limiter.tryAcquire("b"));
+	}
+
+	@Test
+	void partialRefillAddsOnlyWholeTokensAndKeepsTheRemainder() {
+		exhaust("a");
+
+		advance(NANOS_PER_TOKEN + TimeUnit.SECONDS.toNanos(5));
+		assertEquals(0, limiter.tryAcquire("a"));
+		// A sobra de 5 segundos conta para o próximo token.
+		assertEquals(TimeUnit.SECONDS.toNanos(5), limiter.tryAcquire("a"));
+
+		advance(TimeUnit.SECONDS.toNanos(5));
+		assertEquals(0, limiter.tryAcquire("a"));
+		assertEquals(NANOS_PER_TOKEN, limiter.tryAcquire("a"));
+	}
+
+	@Test
+	void refillIsCappedAtCapacity() {
+		exhaust("a");
+
+		advance(NANOS_PER_TOKEN * 100);
+		for (int i = 0; i < CAPACITY; i++) {
+			assertEquals(0, limiter.tryAcquire("a"));
+		}
+		assertEquals(NANOS_PER_TOKEN, limiter.tryAcquire("a"));
+	}
+
+	@Test
+	void evictIdleRemovesOnlyBucketsThatWouldBeFull() {
+		exhaust("idle");
+		advance(NANOS_PER_TOKEN * CAPACITY - 1);
+		exhaust("busy");
+		assertEquals(0, limiter.tryAcquire("partial"));
+
+		// "idle" acabou de completar a reposição; "partial" ainda espera um token e "busy" todos.
+		advance(1);
+		assertEquals(1, limiter.evictIdle());
+		assertEquals(2, limiter.size());
+
+		advance(NANOS_PER_TOKEN * CAPACITY);
+		assertEquals(2, limiter.evictIdle());
+		assertEquals(0, limiter.size());
+	}
+
+	private void exhaust(String key) {
+		for (int i = 0; i < CAPACITY; i++) {
+			assertEquals(0, limiter.tryAcquire(key));
+		}
+	}
+
+	private void advance(long nanos) {
+		now.addAndGet(nanos);
+	}
+}
@@ -0,0 +1,129 @@
+package com.project.task_manager.controller;
+
+import com.project.task_manager.TestData;
+import com.project.task_manager.model.User;
+import com.project.task_manager.repository.UserRepository;
+import com.project.task_manager.service.JwtService;
+import com.project.task_manager.service.UserService;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.security.Key;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Sem @Transactional: a revogação só vale depois do commit do softDelete.
+@SpringBootTest
+@AutoConfigureMockMvc
+class AccountDeactivationTests {
+
+	private static final String PASSWORD = "senha-de-teste";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JwtService jwtService;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private PasswordEncoder passwordEncoder;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private final List<Long> createdUsers = new ArrayList<>();
+
+	@AfterEach
+	void deleteCreatedUsers() {
+		TestData.deleteUsers(jdbcTemplate, createdUsers);
+	}
+
+	@Test
+	void tokenIssuedBeforeDeactivationIsRejected() throws Exception {
+		User user = createUser();
+		String token = "Bearer " + jwtService.generateToken(user);
+
+		mockMvc.perform(get("/tasks").header("Authorization", token))
+				.andExpect(status().isOk());
+
+		userService.softDelete(user.getId(), user.getId());
+
+		mockMvc.perform(get("/tasks").header("Authorization", token))
+				.andExpect(status().isUnauthorized())
+				.andExpect(jsonPath("$.message").value("Conta desativada. Faça login novamente."));
+	}
+
+	@Test
+	void deactivatedAccountCannotLogIn() throws Exception {
+		User user = createUser();
+
+		mockMvc.perform(login(user))
+				.andExpect(status().isOk());
+
+		userService.softDelete(user.getId(), user.getId());
+
+		mockMvc.perform(login(user))
+				.andExpect(status().isUnauthorized())
+				.andExpect(content().string("Conta desativada."));
+	}
+
+	@Test
+	void tokenWithoutUserClaimsIsRejected() throws Exception {
+		User user = createUser();
+		Key key = (Key) ReflectionTestUtils.getField(jwtService, "KEY");
+
+		// Formato antigo: só o subject, sem username nem época de status.
+		String legacyToken = Jwts.builder()
+				.setSubject(String.valueOf(user.getId()))
+				.setIssuedAt(new Date())
+				.setExpiration(new Date(System.currentTimeMillis() + 60_000))
+				.signWith(key, SignatureAlgorithm.HS256)
+				.compact();
+
+		mockMvc.perform(get("/tasks").header("Authorization", "Bearer " + legacyToken))
+				.andExpect(status().isUnauthorized())
+				.andExpect(jsonPath("$.message").value("Token inválido."));
+	}
+
+	private RequestBuilder login(User user) {
+		return post("/auth/login")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"username\":\"" + user.getUsername() + "\",\"password\":\"" + PASSWORD + "\"}");
+	}
+
+	private User createUser() {
+		User user = userRepository.save(User.builder()
+				.name("Teste")
+				.username("user-" + UUID.randomUUID())
+				.passwordHash(passwordEncoder.encode(PASSWORD))
+				.isActive(true)
+				.build());
+		createdUsers.add(user.getId());
+		return user;
+	}
+}
@@ -0,0 +1,47 @@
+package com.project.task_manager.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AuthControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	void loginAnswersTooManyRequestsOnceTheUsernameBucketIsEmpty() throws Exception {
+		String username = "user-" + UUID.randomUUID();
+
+		// Capacidade padrão por usuário: 5 tentativas, repondo uma a cada 12 segundos.
+		for (int i = 0; i < 5; i++) {
+			mockMvc.perform(login(username))
+					.andExpect(status().isUnauthorized());
+		}
+
+		mockMvc.perform(login(username))
+				.andExpect(status().isTooManyRequests())
+				// As tentativas anteriores passam pelo BCrypt, então parte da espera já correu.
+				.andExpect(header().string(HttpHeaders.RETRY_AFTER, matchesPattern("([1-9]|1[0-2])")));
+	}
+
+	private RequestBuilder login(String username) {
+		return post("/auth/login")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"username\":\"" + username + "\",\"password\":\"senha-errada\"}");
+	}
+}
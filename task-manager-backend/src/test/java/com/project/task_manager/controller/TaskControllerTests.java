@@ -0,0 +1,456 @@
+package com.project.task_manager.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import com.project.task_manager.enums.TaskStatus;
+import com.project.task_manager.model.Task;
+import com.project.task_manager.model.User;
+import com.project.task_manager.repository.UserRepository;
+import com.project.task_manager.service.JwtService;
+import com.project.task_manager.service.TaskExportLimiter;
+import com.project.task_manager.service.TaskService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.contains;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@Transactional
+class TaskControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JwtService jwtService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private TaskService taskService;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private TaskExportLimiter taskExportLimiter;
+
+	private User user;
+	private String token;
+
+	@BeforeEach
+	void setUp() {
+		user = createUser();
+		token = jwtService.generateToken(user);
+	}
+
+	@Test
+	void listTasksUsesFixedStatementCountRegardlessOfResultSize() throws Exception {
+		createTask(user);
+		long statementsForOneTask = countStatementsForTaskList(1);
+
+		for (int i = 0; i < 20; i++) {
+			User owner = createUser();
+			Task task = createTask(owner);
+			taskService.shareTaskWithUsers(task.getId(), List.of(user.getUsername()), owner.getId());
+			createTask(user);
+		}
+		long statementsForManyTasks = countStatementsForTaskList(41);
+
+		assertEquals(statementsForOneTask, statementsForManyTasks);
+	}
+
+	@Test
+	void listTasksPagesAcrossTasksWithoutDeadline() throws Exception {
+		List<Long> ids = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			ids.add(createTask(user).getId());
+		}
+		entityManager.flush();
+
+		// Tarefas anteriores à validação de prazo podem ter deadline nulo.
+		entityManager.createNativeQuery("UPDATE task_access SET deadline = NULL WHERE task_id IN (:ids)")
+				.setParameter("ids", ids.subList(0, 3))
+				.executeUpdate();
+
+		for (String sort : List.of("deadline", "-deadline", "-created")) {
+			List<Long> listed = listAllPages(sort, 2);
+			assertEquals(ids.size(), listed.size());
+			assertEquals(Set.copyOf(ids), Set.copyOf(listed));
+		}
+	}
+
+	@Test
+	void updateTaskComparesIfMatchWithTheTaskVersionOnly() throws Exception {
+		User collaborator = createUser();
+		Task task = createTask(user);
+		taskService.shareTaskWithUsers(task.getId(), List.of(collaborator.getUsername()), user.getId());
+		entityManager.flush();
+
+		String etag = mockMvc.perform(get("/tasks/" + task.getId()).header("Authorization", "Bearer " + token))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		// Muda o ETag de leitura, mas não a versão da tarefa.
+		collaborator.setName("Outro nome");
+		userRepository.saveAndFlush(collaborator);
+
+		String body = """
+				{"task": {"title": "Atualizada", "status": "TO_DO", "deadline": "Jan 1, 2030 00:00:00"},
+				 "usernames": ["%s"]}
+				""".formatted(collaborator.getUsername());
+
+		mockMvc.perform(put("/tasks/" + task.getId())
+						.header("Authorization", "Bearer " + token)
+						.header(HttpHeaders.IF_MATCH, etag)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(body))
+				.andExpect(status().isOk());
+
+		mockMvc.perform(put("/tasks/" + task.getId())
+						.header("Authorization", "Bearer " + token)
+						.header(HttpHeaders.IF_MATCH, etag)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(body))
+				.andExpect(status().isConflict())
+				.andExpect(header().exists(HttpHeaders.ETAG))
+				.andExpect(jsonPath("$.task.title").value("Atualizada"));
+	}
+
+	@Test
+	void updateTaskWithoutUsernamesKeepsShares() throws Exception {
+		User collaborator = createUser();
+		Task task = createTask(user);
+		taskService.shareTaskWithUsers(task.getId(), List.of(collaborator.getUsername()), user.getId());
+		entityManager.flush();
+
+		mockMvc.perform(put("/tasks/" + task.getId())
+						.header("Authorization", "Bearer " + token)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("""
+								{"task": {"title": "Atualizada", "status": "TO_DO", "deadline": "Jan 1, 2030 00:00:00"}}
+								"""))
+				.andExpect(status().isOk());
+
+		mockMvc.perform(get("/tasks/" + task.getId())
+						.header("Authorization", "Bearer " + jwtService.generateToken(collaborator)))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.task.title").value("Atualizada"));
+	}
+
+	@Test
+	void sharedUsersAreVisibleOnlyToWhoCanSeeTheTask() throws Exception {
+		User collaborator = createUser();
+		User stranger = createUser();
+		Task task = createTask(user);
+		taskService.shareTaskWithUsers(task.getId(), List.of(collaborator.getUsername()), user.getId());
+		entityManager.flush();
+
+		for (User allowed : List.of(user, collaborator)) {
+			mockMvc.perform(get("/tasks/" + task.getId() + "/shared-users")
+							.header("Authorization", "Bearer " + jwtService.generateToken(allowed)))
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$[*].username").value(contains(collaborator.getUsername())));
+		}
+
+		mockMvc.perform(get("/tasks/" + task.getId() + "/shared-users")
+						.header("Authorization", "Bearer " + jwtService.generateToken(stranger)))
+				.andExpect(status().isNotFound());
+	}
+
+	@Test
+	void applyBatchAppliesEveryOperationAndReturnsNewVersions() throws Exception {
+		Task updated = createTask(user);
+		Task deleted = createTask(user);
+		entityManager.flush();
+		long updatedVersion = updated.getVersion();
+		long deletedVersion = deleted.getVersion();
+
+		String body = """
+				{"operations": [
+				  {"type": "CREATE", "task": %s},
+				  {"type": "UPDATE", "id": %d, "version": %d, "task": %s},
+				  {"type": "DELETE", "id": %d}
+				]}
+				""".formatted(taskJson("Nova"), updated.getId(), updatedVersion, taskJson("Atualizada"), deleted.getId());
+
+		mockMvc.perform(applyBatch(body))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.applied").value(true))
+				.andExpect(jsonPath("$.results[*].status").value(contains(200, 200, 200)))
+				.andExpect(jsonPath("$.results[0].id").isNumber())
+				.andExpect(jsonPath("$.results[0].version").value(0))
+				.andExpect(jsonPath("$.results[1].id").value(updated.getId()))
+				.andExpect(jsonPath("$.results[1].version").value(updatedVersion + 1))
+				.andExpect(jsonPath("$.results[2].version").value(deletedVersion + 1));
+
+		entityManager.clear();
+		assertEquals("Atualizada", entityManager.find(Task.class, updated.getId()).getTitle());
+		assertEquals(false, entityManager.find(Task.class, deleted.getId()).getIsActive());
+	}
+
+	@Test
+	void applyBatchWritesNothingWhenAnyOperationIsRejected() throws Exception {
+		Task own = createTask(user);
+		Task repeated = createTask(user);
+		Task othersTask = createTask(createUser());
+		entityManager.flush();
+
+		String body = """
+				{"operations": [
+				  {"type": "CREATE", "task": %s},
+				  {"type": "UPDATE", "id": -1, "task": %s},
+				  {"type": "UPDATE", "id": %d, "task": %s},
+				  {"type": "CREATE", "task": {"title": "Sem prazo", "status": "TO_DO"}},
+				  {"type": "UPDATE", "id": %d, "version": %d, "task": %s},
+				  {"type": "UPDATE", "id": %d, "task": %s},
+				  {"type": "DELETE", "id": %d}
+				]}
+				""".formatted(taskJson("Nova"),
+				taskJson("Inexistente"),
+				othersTask.getId(), taskJson("Alheia"),
+				own.getId(), own.getVersion() + 1, taskJson("Desatualizada"),
+				repeated.getId(), taskJson("Repetida"),
+				repeated.getId());
+
+		mockMvc.perform(applyBatch(body))
+				.andExpect(status().isConflict())
+				.andExpect(jsonPath("$.applied").value(false))
+				.andExpect(jsonPath("$.results[*].index").value(contains(1, 2, 3, 4, 6)))
+				.andExpect(jsonPath("$.results[*].status").value(contains(404, 403, 400, 409, 400)));
+
+		entityManager.clear();
+		assertEquals("Tarefa", entityManager.find(Task.class, own.getId()).getTitle());
+		assertEquals("Tarefa", entityManager.find(Task.class, repeated.getId()).getTitle());
+		assertEquals(2L, entityManager.createQuery("SELECT COUNT(t) FROM Task t WHERE t.owner.id = :owner", Long.class)
+				.setParameter("owner", user.getId())
+				.getSingleResult());
+	}
+
+	@Test
+	void applyBatchWithoutConflictsAnswersBadRequest() throws Exception {
+		Task own = createTask(user);
+		entityManager.flush();
+
+		String body = """
+				{"operations": [
+				  {"type": "DELETE", "id": %d},
+				  {"type": "DELETE", "id": %d}
+				]}
+				""".formatted(own.getId(), own.getId());
+
+		mockMvc.perform(applyBatch(body))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.applied").value(false))
+				.andExpect(jsonPath("$.results[0].index").value(1))
+				.andExpect(jsonPath("$.results[0].error").value("A tarefa aparece mais de uma vez no lote."));
+	}
+
+	@Test
+	void shareTasksWritesNothingWhenAnyTaskIsNotOwnedOrActive() throws Exception {
+		User collaborator = createUser();
+		Task own = createTask(user);
+		Task othersTask = createTask(createUser());
+		Task deleted = createTask(user);
+		taskService.softDelete(user.getId(), deleted.getId());
+		entityManager.flush();
+
+		for (Task rejected : List.of(othersTask, deleted)) {
+			mockMvc.perform(shareTasks(List.of(own, rejected), collaborator.getUsername()))
+					.andExpect(status().isForbidden())
+					.andExpect(content().string("Você não está autorizado a compartilhar todas estas tarefas."));
+		}
+
+		assertEquals(0, countShares(List.of(own, othersTask, deleted)));
+		assertEquals(0, countSharedAccess(List.of(own, othersTask, deleted)));
+	}
+
+	@Test
+	void shareTasksSharesEveryTaskWithEveryUserAndGrantsAccess() throws Exception {
+		List<Task> tasks = List.of(createTask(user), createTask(user), createTask(user));
+		User first = createUser();
+		User second = createUser();
+		entityManager.flush();
+
+		// O próprio dono na lista é ignorado.
+		mockMvc.perform(shareTasks(tasks, first.getUsername(), second.getUsername(), user.getUsername()))
+				.andExpect(status().isOk());
+
+		assertEquals(6, countShares(tasks));
+		assertEquals(6, countSharedAccess(tasks));
+		for (Task task : tasks) {
+			mockMvc.perform(get("/tasks/" + task.getId())
+							.header("Authorization", "Bearer " + jwtService.generateToken(second)))
+					.andExpect(status().isOk());
+		}
+	}
+
+	@Test
+	void shareTasksIsIdempotent() throws Exception {
+		List<Task> tasks = List.of(createTask(user), createTask(user));
+		User collaborator = createUser();
+		entityManager.flush();
+
+		mockMvc.perform(shareTasks(tasks, collaborator.getUsername()))
+				.andExpect(status().isOk());
+		mockMvc.perform(shareTasks(tasks, collaborator.getUsername()))
+				.andExpect(status().isOk());
+
+		assertEquals(2, countShares(tasks));
+		assertEquals(2, countSharedAccess(tasks));
+	}
+
+	private MockHttpServletRequestBuilder applyBatch(String body) {
+		return post("/tasks/batch")
+				.header("Authorization", "Bearer " + token)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(body);
+	}
+
+	@Test
+	void exportAnswersServiceUnavailableWhileEveryPermitIsTaken() throws Exception {
+		int taken = 0;
+		while (taskExportLimiter.tryAcquire()) {
+			taken++;
+		}
+		try {
+			mockMvc.perform(get("/tasks/export").header("Authorization", "Bearer " + token))
+					.andExpect(status().isServiceUnavailable())
+					.andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+		} finally {
+			for (int i = 0; i < taken; i++) {
+				taskExportLimiter.release();
+			}
+		}
+
+		MvcResult started = mockMvc.perform(get("/tasks/export").header("Authorization", "Bearer " + token))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		mockMvc.perform(asyncDispatch(started))
+				.andExpect(status().isOk());
+
+		// A exportação terminada devolve a permissão.
+		assertEquals(true, taskExportLimiter.tryAcquire());
+		taskExportLimiter.release();
+	}
+
+	private MockHttpServletRequestBuilder shareTasks(List<Task> tasks, String... usernames) {
+		String taskIds = tasks.stream().map(task -> String.valueOf(task.getId())).collect(Collectors.joining(","));
+		String names = Arrays.stream(usernames).map(username -> "\"" + username + "\"").collect(Collectors.joining(","));
+		return post("/tasks/share")
+				.header("Authorization", "Bearer " + token)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"taskIds\": [" + taskIds + "], \"usernames\": [" + names + "]}");
+	}
+
+	private long countShares(List<Task> tasks) {
+		return countRows("SELECT COUNT(*) FROM task_shared WHERE task_id IN (:taskIds)", tasks);
+	}
+
+	private long countSharedAccess(List<Task> tasks) {
+		return countRows("SELECT COUNT(*) FROM task_access WHERE task_id IN (:taskIds) AND role = 'SHARED' AND NOT revoked", tasks);
+	}
+
+	private long countRows(String sql, List<Task> tasks) {
+		return ((Number) entityManager.createNativeQuery(sql)
+				.setParameter("taskIds", tasks.stream().map(Task::getId).toList())
+				.getSingleResult()).longValue();
+	}
+
+	private String taskJson(String title) {
+		return """
+				{"title": "%s", "status": "TO_DO", "deadline": "Jan 1, 2030 00:00:00"}""".formatted(title);
+	}
+
+	private List<Long> listAllPages(String sort, int limit) throws Exception {
+		List<Long> ids = new ArrayList<>();
+		String cursor = null;
+		do {
+			MockHttpServletRequestBuilder request = get("/tasks")
+					.param("sort", sort)
+					.param("limit", String.valueOf(limit))
+					.header("Authorization", "Bearer " + token);
+			if (cursor != null) {
+				request.param("cursor", cursor);
+			}
+			String body = mockMvc.perform(request)
+					.andExpect(status().isOk())
+					.andReturn().getResponse().getContentAsString();
+
+			List<Number> page = JsonPath.read(body, "$.tasks[*].id");
+			page.forEach(id -> ids.add(id.longValue()));
+			cursor = JsonPath.read(body, "$.nextCursor");
+		} while (cursor != null);
+		return ids;
+	}
+
+	private long countStatementsForTaskList(int expectedSize) throws Exception {
+		entityManager.flush();
+		entityManager.clear();
+
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		listTasks(expectedSize);
+
+		return statistics.getPrepareStatementCount();
+	}
+
+	private void listTasks(int expectedSize) throws Exception {
+		mockMvc.perform(get("/tasks").param("limit", "200").header("Authorization", "Bearer " + token))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.tasks.length()").value(expectedSize));
+	}
+
+	private User createUser() {
+		return userRepository.save(User.builder()
+				.name("Teste")
+				.username("user-" + UUID.randomUUID())
+				.passwordHash(UUID.randomUUID().toString())
+				.isActive(true)
+				.build());
+	}
+
+	private Task createTask(User owner) {
+		return taskService.save(owner.getId(), Task.builder()
+				.title("Tarefa")
+				.status(TaskStatus.TO_DO)
+				.deadline(new Date())
+				.build());
+	}
+}
@@ -0,0 +1,182 @@
+package com.project.task_manager.controller;
+
+import com.project.task_manager.TaskManagerApplication;
+import com.project.task_manager.TestData;
+import com.project.task_manager.enums.TaskStatus;
+import com.project.task_manager.model.Task;
+import com.project.task_manager.model.User;
+import com.project.task_manager.repository.UserRepository;
+import com.project.task_manager.service.JwtService;
+import com.project.task_manager.service.TaskService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// mvn -Pbenchmark test -Dtest=TaskListConcurrencyBenchmarkTests
+// Clientes, aquecimento e duração: -Dbenchmark.clients, -Dbenchmark.warmup-seconds, -Dbenchmark.seconds.
+@Tag("benchmark")
+class TaskListConcurrencyBenchmarkTests {
+
+	private static final int CLIENTS = Integer.getInteger("benchmark.clients", 2000);
+	private static final Duration WARM_UP = Duration.ofSeconds(Long.getLong("benchmark.warmup-seconds", 5));
+	private static final Duration DURATION = Duration.ofSeconds(Long.getLong("benchmark.seconds", 20));
+	private static final int TASKS = 50;
+
+	@Test
+	void listTasksWithPlatformAndVirtualThreads() throws Exception {
+		Result platform = run(false);
+		Result virtual = run(true);
+
+		report("threads de plataforma", platform);
+		report("threads virtuais", virtual);
+		assertTrue(platform.completed() > 0);
+		assertTrue(virtual.completed() > 0);
+	}
+
+	private Result run(boolean virtualThreads) throws Exception {
+		// Argumentos de linha de comando para prevalecer sobre o application.properties. As threads
+		// virtuais vêm do profile, que também ajusta o pool do Hikari.
+		List<String> args = new ArrayList<>(List.of(
+				"--server.port=0",
+				"--spring.jpa.show-sql=false",
+				"--spring.jpa.properties.hibernate.generate_statistics=false"));
+		args.add(virtualThreads ? "--spring.profiles.active=virtual-threads" : "--spring.threads.virtual.enabled=false");
+
+		try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TaskManagerApplication.class)
+				.run(args.toArray(String[]::new))) {
+			User user = seed(context);
+			try {
+				String token = context.getBean(JwtService.class).generateToken(user);
+				int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+				HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/tasks?limit=" + TASKS))
+						.header("Authorization", "Bearer " + token)
+						.timeout(Duration.ofSeconds(60))
+						.build();
+
+				return load(request);
+			} finally {
+				TestData.deleteUsers(context.getBean(JdbcTemplate.class), List.of(user.getId()));
+			}
+		}
+	}
+
+	private Result load(HttpRequest request) throws Exception {
+		HttpClient client = HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_1_1)
+				.connectTimeout(Duration.ofSeconds(30))
+				.build();
+
+		long measureFrom = System.nanoTime() + WARM_UP.toNanos();
+		long end = measureFrom + DURATION.toNanos();
+
+		List<Future<ClientStats>> clients = new ArrayList<>(CLIENTS);
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int i = 0; i < CLIENTS; i++) {
+				clients.add(executor.submit(() -> client(client, request, measureFrom, end)));
+			}
+		}
+
+		List<Long> latencies = new ArrayList<>();
+		long errors = 0;
+		for (Future<ClientStats> future : clients) {
+			latencies.addAll(future.get().latencies());
+			errors += future.get().errors();
+		}
+
+		long[] sorted = latencies.stream().mapToLong(Long::longValue).toArray();
+		Arrays.sort(sorted);
+		return new Result(sorted, errors);
+	}
+
+	private ClientStats client(HttpClient client, HttpRequest request, long measureFrom, long end) {
+		List<Long> latencies = new ArrayList<>();
+		long errors = 0;
+
+		long now = System.nanoTime();
+		while (now < end) {
+			long start = now;
+			boolean ok;
+			try {
+				ok = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+			} catch (Exception e) {
+				ok = false;
+			}
+			now = System.nanoTime();
+
+			if (start >= measureFrom && now < end) {
+				if (ok) {
+					latencies.add(now - start);
+				} else {
+					errors++;
+				}
+			}
+		}
+
+		return new ClientStats(latencies, errors);
+	}
+
+	private User seed(ConfigurableApplicationContext context) {
+		UserRepository userRepository = context.getBean(UserRepository.class);
+		TaskService taskService = context.getBean(TaskService.class);
+
+		User user = userRepository.save(User.builder()
+				.name("Benchmark")
+				.username("bench-" + UUID.randomUUID())
+				.passwordHash(UUID.randomUUID().toString())
+				.isActive(true)
+				.build());
+
+		for (int i = 0; i < TASKS; i++) {
+			taskService.save(user.getId(), Task.builder()
+					.title("Benchmark " + i)
+					.status(TaskStatus.TO_DO)
+					.deadline(new Date())
+					.build());
+		}
+
+		return user;
+	}
+
+	private void report(String mode, Result result) {
+		System.out.printf("[benchmark] GET /tasks com %d clientes, %s: %.0f req/s, p50 %.1f ms, p99 %.1f ms, %d erros%n",
+				CLIENTS, mode, result.completed() / (double) DURATION.toSeconds(),
+				result.percentile(0.50) / 1_000_000.0, result.percentile(0.99) / 1_000_000.0, result.errors());
+	}
+
+	private record ClientStats(List<Long> latencies, long errors) {
+	}
+
+	private record Result(long[] sortedLatencies, long errors) {
+
+		long completed() {
+			return sortedLatencies.length;
+		}
+
+		long percentile(double percentile) {
+			if (sortedLatencies.length == 0) {
+				return 0;
+			}
+			int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+			return sortedLatencies[Math.max(index, 0)];
+		}
+	}
+}
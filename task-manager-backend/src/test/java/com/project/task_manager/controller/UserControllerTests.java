@@ -0,0 +1,73 @@
+package com.project.task_manager.controller;
+
+import com.project.task_manager.model.User;
+import com.project.task_manager.repository.UserRepository;
+import com.project.task_manager.service.JwtService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class UserControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JwtService jwtService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Test
+	void listUsersETagChangesWhenAnOlderTimestampCommitsLate() throws Exception {
+		User user = createUser();
+		User other = createUser();
+		String token = "Bearer " + jwtService.generateToken(user);
+
+		// Escrita que fez flush por último e já confirmou: tem o maior updated_at.
+		setUpdatedAt(other, "2100-01-01 00:00:00");
+
+		String etag = mockMvc.perform(get("/users").header("Authorization", token))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		// Escrita que fez flush antes, mas só confirmou agora: nem a contagem nem o maior
+		// updated_at mudam.
+		setUpdatedAt(user, "2050-01-01 00:00:00");
+
+		mockMvc.perform(get("/users").header("Authorization", token).header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isOk());
+	}
+
+	private void setUpdatedAt(User user, String timestamp) {
+		entityManager.createNativeQuery("UPDATE users SET name = 'Outro nome', updated_at = CAST(:updatedAt AS timestamp) WHERE id = :id")
+				.setParameter("updatedAt", timestamp)
+				.setParameter("id", user.getId())
+				.executeUpdate();
+	}
+
+	private User createUser() {
+		return userRepository.saveAndFlush(User.builder()
+				.name("Teste")
+				.username("user-" + UUID.randomUUID())
+				.passwordHash(UUID.randomUUID().toString())
+				.isActive(true)
+				.build());
+	}
+}
@@ -0,0 +1,100 @@
+package com.project.task_manager.service;
+
+import com.project.task_manager.TestData;
+import com.project.task_manager.dto.TaskDetailsResponse;
+import com.project.task_manager.enums.TaskStatus;
+import com.project.task_manager.model.Task;
+import com.project.task_manager.model.User;
+import com.project.task_manager.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.cache.Caching;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Sem @Transactional: o cache L2 de leitura e escrita só serve entradas gravadas antes de a sessão
+// começar, então cada passo precisa da sua própria transação confirmada.
+@SpringBootTest
+class SecondLevelCacheTests {
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private TaskService taskService;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private final List<Long> createdUsers = new ArrayList<>();
+
+	@AfterEach
+	void deleteCreatedUsers() {
+		TestData.deleteUsers(jdbcTemplate, createdUsers);
+	}
+
+	@Test
+	void writePathsReadTheTaskVersionFromTheDatabase() {
+		User user = createUser();
+		Task task = taskService.save(user.getId(), edited("Tarefa"));
+		// Coloca a tarefa no cache L2 desta instância.
+		taskService.findAccessibleTaskById(task.getId(), user.getId());
+
+		// Outra instância altera a tarefa; o cache daqui não fica sabendo.
+		long current = task.getVersion() + 1;
+		jdbcTemplate.update("UPDATE tasks SET version = ?, title = 'Remota' WHERE id = ?", current, task.getId());
+
+		TaskDetailsResponse conflict = taskService.findCurrentTaskDetails(task.getId(), user.getId()).orElseThrow();
+		assertEquals(current, conflict.getTask().getVersion());
+		assertEquals("Remota", conflict.getTask().getTitle());
+
+		Task updated = taskService.update(user.getId(), task.getId(), edited("Atualizada"), List.of(current));
+		assertEquals(current + 1, updated.getVersion());
+	}
+
+	@Test
+	void usersRegionWeighsTheProfilePicture() {
+		User user = createUser();
+		user.setProfilePicture("a".repeat(1_000_000));
+		userRepository.save(user);
+		userService.findById(user.getId());
+
+		com.github.benmanes.caffeine.cache.Cache<?, ?> users = Caching.getCachingProvider().getCacheManager()
+				.getCache("users")
+				.unwrap(com.github.benmanes.caffeine.cache.Cache.class);
+		long weightedSize = users.policy().eviction().orElseThrow().weightedSize().orElseThrow();
+		assertTrue(weightedSize >= 2_000_000, "peso do cache users: " + weightedSize);
+	}
+
+	private User createUser() {
+		User user = userRepository.save(User.builder()
+				.name("Teste")
+				.username("user-" + UUID.randomUUID())
+				.passwordHash(UUID.randomUUID().toString())
+				.isActive(true)
+				.build());
+		createdUsers.add(user.getId());
+		return user;
+	}
+
+	private Task edited(String title) {
+		return Task.builder()
+				.title(title)
+				.status(TaskStatus.TO_DO)
+				.deadline(new Date())
+				.build();
+	}
+}
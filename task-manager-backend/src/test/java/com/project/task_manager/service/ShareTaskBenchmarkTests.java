@@ -0,0 +1,106 @@
+package com.project.task_manager.service;
+
+import com.project.task_manager.enums.TaskStatus;
+import com.project.task_manager.model.Task;
+import com.project.task_manager.model.User;
+import com.project.task_manager.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// mvn -Pbenchmark test
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class ShareTaskBenchmarkTests {
+
+	private static final int USERS = 500;
+	private static final int ROUNDS = 5;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private TaskService taskService;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Test
+	void shareTaskWithFiveHundredUsers() {
+		Long owner = userRepository.save(newUser()).getId();
+		List<String> usernames = userRepository.saveAll(IntStream.range(0, USERS).mapToObj(i -> newUser()).toList())
+				.stream()
+				.map(User::getUsername)
+				.toList();
+		entityManager.flush();
+		entityManager.clear();
+
+		Result few = measure(owner, usernames.subList(0, 10));
+		Result many = measure(owner, usernames);
+
+		report(10, few);
+		report(USERS, many);
+		assertEquals(few.statements(), many.statements());
+	}
+
+	private Result measure(Long ownerId, List<String> usernames) {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+		long bestNanos = Long.MAX_VALUE;
+		long statements = 0;
+		for (int round = 0; round < ROUNDS; round++) {
+			Task task = taskService.save(ownerId, Task.builder()
+					.title("Benchmark")
+					.status(TaskStatus.TO_DO)
+					.deadline(new Date())
+					.build());
+			entityManager.flush();
+			statistics.clear();
+
+			long start = System.nanoTime();
+			taskService.shareTaskWithUsers(task.getId(), usernames, ownerId);
+			entityManager.flush();
+			bestNanos = Math.min(bestNanos, System.nanoTime() - start);
+			statements = statistics.getPrepareStatementCount();
+
+			assertEquals(usernames.size(), taskService.findUsersByTaskId(task.getId()).size());
+			entityManager.clear();
+		}
+
+		return new Result(bestNanos, statements);
+	}
+
+	private void report(int users, Result result) {
+		System.out.printf("[benchmark] compartilhar com %d usuários: %.1f ms, %.0f linhas/s, %d statements%n",
+				users, result.bestNanos() / 1_000_000.0, users * 1_000_000_000.0 / result.bestNanos(), result.statements());
+	}
+
+	private User newUser() {
+		return User.builder()
+				.name("Benchmark")
+				.username("bench-" + UUID.randomUUID())
+				.passwordHash(UUID.randomUUID().toString())
+				.isActive(true)
+				.build();
+	}
+
+	private record Result(long bestNanos, long statements) {
+	}
+}
@@ -0,0 +1,157 @@
+package com.project.task_manager.service;
+
+import com.project.task_manager.TestData;
+import com.project.task_manager.dto.TaskChangesResponse;
+import com.project.task_manager.dto.TaskListVersion;
+import com.project.task_manager.dto.TaskSummary;
+import com.project.task_manager.enums.TaskStatus;
+import com.project.task_manager.model.Task;
+import com.project.task_manager.model.User;
+import com.project.task_manager.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Sem @Transactional: o teste precisa de duas transações reais confirmando fora de ordem.
+@SpringBootTest
+class TaskChangeFeedTests {
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private TaskService taskService;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private final List<Long> createdUsers = new ArrayList<>();
+
+	// As transações são confirmadas de verdade, então o que o teste criou sai do banco no fim.
+	@AfterEach
+	void deleteCreatedUsers() {
+		TestData.deleteUsers(jdbcTemplate, createdUsers);
+	}
+
+	@Test
+	void changesCommittedOutOfOrderAreNotSkipped() throws Exception {
+		User user = createUser();
+		Task first = createTask(user);
+		Task second = createTask(user);
+
+		String token = drain(user.getId(), null).nextToken();
+
+		Set<Long> seen = new HashSet<>();
+		Feed whileOpen = whileFirstUpdateIsOpen(user, first, () -> {
+			taskService.update(user.getId(), second.getId(), edited("Segunda"), null);
+			return drain(user.getId(), token);
+		});
+		seen.addAll(whileOpen.updatedIds());
+
+		seen.addAll(drain(user.getId(), whileOpen.nextToken()).updatedIds());
+		assertEquals(Set.of(first.getId(), second.getId()), seen);
+	}
+
+	@Test
+	void listVersionChangesWhenAnOlderTransactionCommitsLate() throws Exception {
+		User user = createUser();
+		Task first = createTask(user);
+		Task second = createTask(user);
+
+		TaskListVersion whileOpen = whileFirstUpdateIsOpen(user, first, () -> {
+			taskService.update(user.getId(), second.getId(), edited("Segunda"), null);
+			return taskService.findListVersion(user.getId());
+		});
+
+		assertNotEquals(whileOpen, taskService.findListVersion(user.getId()));
+	}
+
+	// A primeira escrita fica com a transação aberta enquanto o corpo roda e só confirma depois.
+	private <T> T whileFirstUpdateIsOpen(User user, Task first, Callable<T> body) throws Exception {
+		CountDownLatch firstWritten = new CountDownLatch(1);
+		CountDownLatch releaseFirst = new CountDownLatch(1);
+		CompletableFuture<Void> firstUpdate = CompletableFuture.runAsync(() ->
+				new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+					taskService.update(user.getId(), first.getId(), edited("Primeira"), null);
+					firstWritten.countDown();
+					await(releaseFirst);
+				}));
+		assertTrue(firstWritten.await(30, TimeUnit.SECONDS));
+
+		T result;
+		try {
+			result = body.call();
+		} finally {
+			releaseFirst.countDown();
+		}
+		firstUpdate.get(30, TimeUnit.SECONDS);
+		return result;
+	}
+
+	private Feed drain(Long userId, String token) {
+		Set<Long> updated = new HashSet<>();
+		TaskChangesResponse page;
+		do {
+			page = taskService.findChangesSince(userId, token, TaskService.MAX_PAGE_SIZE);
+			page.getUpdated().stream().map(TaskSummary::getId).forEach(updated::add);
+			token = page.getNextToken();
+		} while (page.isHasMore());
+		return new Feed(updated, token);
+	}
+
+	private User createUser() {
+		User user = userRepository.save(User.builder()
+				.name("Teste")
+				.username("user-" + UUID.randomUUID())
+				.passwordHash(UUID.randomUUID().toString())
+				.isActive(true)
+				.build());
+		createdUsers.add(user.getId());
+		return user;
+	}
+
+	private Task createTask(User owner) {
+		return taskService.save(owner.getId(), edited("Tarefa"));
+	}
+
+	private Task edited(String title) {
+		return Task.builder()
+				.title(title)
+				.status(TaskStatus.TO_DO)
+				.deadline(new Date())
+				.build();
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(30, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private record Feed(Set<Long> updatedIds, String nextToken) {
+	}
+}
@@ -0,0 +1,24 @@
+package com.example.task_manager_mobile.dto;
+
+import java.util.List;
+
+public class TaskPage {
+    private List<Task> tasks;
+    private String nextCursor;
+
+    public List<Task> getTasks() {
+        return tasks;
+    }
+
+    public void setTasks(List<Task> tasks) {
+        this.tasks = tasks;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
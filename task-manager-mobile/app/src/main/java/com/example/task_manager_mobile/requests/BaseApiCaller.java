@@ -1,15 +1,21 @@
 package com.example.task_manager_mobile.requests;
+import android.content.Context;
+
 import androidx.annotation.NonNull;
 
 import com.example.task_manager_mobile.dto.CreateTaskRequest;
+import com.example.task_manager_mobile.enums.TaskStatus;
 import com.google.gson.Gson;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 
+import okhttp3.Cache;
 import okhttp3.Call;
 import okhttp3.Callback;
+import okhttp3.HttpUrl;
 import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
@@ -20,10 +26,23 @@ import okhttp3.ResponseBody;
 public class BaseApiCaller {
 
     public static final String BASE_URL = "http://192.168.0.28:8080/";
-    private static final OkHttpClient client = new OkHttpClient();
+    private static final long HTTP_CACHE_SIZE = 10L * 1024 * 1024;
+    private static OkHttpClient client;
     private static final Gson gson = new Gson();
     public static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
 
+    public BaseApiCaller(Context context) {
+        synchronized (BaseApiCaller.class) {
+            if (client == null) {
+                // O cache revalida as respostas com If-None-Match; o servidor responde 304 quando nada mudou.
+                // Fica no diretório de cache do app, que o sistema gerencia e limpa quando precisa de espaço.
+                client = new OkHttpClient.Builder()
+                        .cache(new Cache(new File(context.getCacheDir(), "http-cache"), HTTP_CACHE_SIZE))
+                        .build();
+            }
+        }
+    }
+
     public interface ApiCallback<T> {
         void onSuccess(T result);
         void onError(String message);
@@ -88,9 +107,20 @@ public class BaseApiCaller {
         executeCall(request, callback);
     }
 
-    public void listTasks(String token, final ApiCallback<String> callback) {
+    public void listTasks(TaskStatus status, String title, String cursor, String token, final ApiCallback<String> callback) {
+        HttpUrl.Builder url = HttpUrl.get(BASE_URL + "tasks").newBuilder();
+        if (status != null) {
+            url.addQueryParameter("status", status.name());
+        }
+        if (title != null && !title.isEmpty()) {
+            url.addQueryParameter("title", title);
+        }
+        if (cursor != null) {
+            url.addQueryParameter("cursor", cursor);
+        }
+
         Request request = new Request.Builder()
-                .url(BASE_URL + "tasks")
+                .url(url.build())
                 .addHeader("Authorization", "Bearer " + token)
                 .get()
                 .build();
@@ -50,7 +50,7 @@ public class CreateTaskActivity extends AppCompatActivity {
         binding = ActivityCreateTaskBinding.inflate(getLayoutInflater());
         setContentView(binding.getRoot());
 
-        baseApiCaller = new BaseApiCaller();
+        baseApiCaller = new BaseApiCaller(this);
         sessionManager = new SessionManager(this);
 
         showLoading(true);
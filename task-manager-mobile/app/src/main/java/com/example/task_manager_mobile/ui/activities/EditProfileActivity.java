@@ -65,7 +65,7 @@ public class EditProfileActivity extends AppCompatActivity {
             return;
         }
 
-        baseApiCaller = new BaseApiCaller();
+        baseApiCaller = new BaseApiCaller(this);
         sessionManager = new SessionManager(this);
 
         loadUserDetails();
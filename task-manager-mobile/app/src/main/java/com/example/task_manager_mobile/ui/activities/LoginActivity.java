@@ -31,7 +31,7 @@ public class LoginActivity extends AppCompatActivity {
             getSupportActionBar().hide();
         }
 
-        this.baseApiCaller = new BaseApiCaller();
+        this.baseApiCaller = new BaseApiCaller(getApplicationContext());
         this.sessionManager = new SessionManager(getApplicationContext());
 
         if (!TextUtils.isEmpty(sessionManager.getAuthToken())) {
@@ -57,7 +57,7 @@ public class SignUpActivity extends AppCompatActivity {
             getSupportActionBar().hide();
         }
 
-        this.baseApiCaller = new BaseApiCaller();
+        this.baseApiCaller = new BaseApiCaller(getApplicationContext());
         this.sessionManager = new SessionManager(getApplicationContext());
 
         setupClickListeners();
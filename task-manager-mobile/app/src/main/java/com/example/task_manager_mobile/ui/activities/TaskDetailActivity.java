@@ -50,7 +50,7 @@ public class TaskDetailActivity extends AppCompatActivity {
         binding = ActivityTaskDetailBinding.inflate(getLayoutInflater());
         setContentView(binding.getRoot());
 
-        baseApiCaller = new BaseApiCaller();
+        baseApiCaller = new BaseApiCaller(this);
         sessionManager = new SessionManager(this);
 
         taskId = getIntent().getLongExtra(EXTRA_TASK_ID, -1);
@@ -41,6 +41,7 @@ public class TaskAdapter extends RecyclerView.Adapter<TaskAdapter.TaskViewHolder
         Task task = taskList.get(position);
         holder.tvTitle.setText(task.getTitle());
         holder.tvDescription.setText(task.getDescription());
+        holder.tvDescription.setVisibility(task.getDescription() != null ? View.VISIBLE : View.GONE);
         holder.tvDueDate.setText("Data: " + sdf.format(task.getDeadline()));
         holder.tvStatus.setText(Utils.generateStatusTextFromStatus(task.getStatus()));
 
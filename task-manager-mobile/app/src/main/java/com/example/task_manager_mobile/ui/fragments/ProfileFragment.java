@@ -53,7 +53,7 @@ public class ProfileFragment extends Fragment {
     public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
         super.onViewCreated(view, savedInstanceState);
         sessionManager = new SessionManager(requireContext());
-        baseApiCaller = new BaseApiCaller();
+        baseApiCaller = new BaseApiCaller(requireContext());
 
         loadUserData();
 
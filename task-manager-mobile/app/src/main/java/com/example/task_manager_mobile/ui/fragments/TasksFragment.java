@@ -1,6 +1,8 @@
 package com.example.task_manager_mobile.ui.fragments;
 
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -14,21 +16,20 @@ import androidx.appcompat.widget.SearchView;
 import androidx.fragment.app.Fragment;
 import androidx.swiperefreshlayout.widget.SwipeRefreshLayout;
 import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.task_manager_mobile.R;
 import com.example.task_manager_mobile.databinding.FragmentTasksBinding;
 import com.example.task_manager_mobile.dto.Task;
+import com.example.task_manager_mobile.dto.TaskPage;
 import com.example.task_manager_mobile.enums.TaskStatus;
 import com.example.task_manager_mobile.infrastructure.SessionManager;
 import com.example.task_manager_mobile.requests.BaseApiCaller;
 import com.example.task_manager_mobile.ui.adapters.TaskAdapter;
 import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
 
-import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 
 import android.app.Activity;
@@ -45,6 +46,12 @@ public class TasksFragment extends Fragment {
     private List<Task> allTasks = new ArrayList<>();
     private TaskStatus currentStatusFilter = null;
     private String currentSearchQuery = "";
+    private String nextCursor = null;
+    private boolean isLoadingPage = false;
+
+    private static final long SEARCH_DEBOUNCE_MS = 300;
+    private final Handler searchHandler = new Handler(Looper.getMainLooper());
+    private final Runnable searchRunnable = this::loadTasks;
 
     private final ActivityResultLauncher<Intent> createTaskLauncher = registerForActivityResult(
             new ActivityResultContracts.StartActivityForResult(),
@@ -86,13 +93,26 @@ public class TasksFragment extends Fragment {
 
     private void setupDependencies() {
         sessionManager = new SessionManager(requireContext());
-        baseApiCaller = new BaseApiCaller();
+        baseApiCaller = new BaseApiCaller(requireContext());
     }
 
     private void setupRecyclerView() {
         taskAdapter = new TaskAdapter(getContext());
         binding.recyclerViewTasks.setLayoutManager(new LinearLayoutManager(getContext()));
         binding.recyclerViewTasks.setAdapter(taskAdapter);
+
+        binding.recyclerViewTasks.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                LinearLayoutManager layoutManager = (LinearLayoutManager) recyclerView.getLayoutManager();
+                if (dy <= 0 || layoutManager == null) return;
+
+                int lastVisible = layoutManager.findLastVisibleItemPosition();
+                if (lastVisible >= taskAdapter.getItemCount() - 5) {
+                    loadNextPage();
+                }
+            }
+        });
     }
 
     private void setupFilters() {
@@ -102,7 +122,8 @@ public class TasksFragment extends Fragment {
             @Override
             public boolean onQueryTextChange(String newText) {
                 currentSearchQuery = newText;
-                applyFilters();
+                searchHandler.removeCallbacks(searchRunnable);
+                searchHandler.postDelayed(searchRunnable, SEARCH_DEBOUNCE_MS);
                 return true;
             }
         });
@@ -117,7 +138,7 @@ public class TasksFragment extends Fragment {
             } else if (checkedId == R.id.chip_completed) {
                 currentStatusFilter = TaskStatus.DONE;
             }
-            applyFilters();
+            loadTasks();
         });
     }
 
@@ -132,20 +153,24 @@ public class TasksFragment extends Fragment {
             showLoading(true);
         }
 
-        baseApiCaller.listTasks(token, new BaseApiCaller.ApiCallback<String>() {
+        isLoadingPage = true;
+        baseApiCaller.listTasks(currentStatusFilter, currentSearchQuery, null, token, new BaseApiCaller.ApiCallback<String>() {
             @Override
             public void onSuccess(String jsonResult) {
                 if (getActivity() == null || binding == null) return;
                 getActivity().runOnUiThread(() -> {
+                    isLoadingPage = false;
                     binding.swipeRefreshLayout.setRefreshing(false);
                     showLoading(false);
 
                     try {
-                        Type listType = new TypeToken<ArrayList<Task>>() {}.getType();
-                        allTasks = new Gson().fromJson(jsonResult, listType);
+                        TaskPage page = new Gson().fromJson(jsonResult, TaskPage.class);
 
-                        if (allTasks == null) {
-                            allTasks = new ArrayList<>();
+                        allTasks = new ArrayList<>();
+                        nextCursor = null;
+                        if (page != null && page.getTasks() != null) {
+                            allTasks.addAll(page.getTasks());
+                            nextCursor = page.getNextCursor();
                         }
                         applyFilters();
                     } catch (Exception e) {
@@ -158,10 +183,12 @@ public class TasksFragment extends Fragment {
             public void onError(String message) {
                 if (getActivity() == null) return;
                 getActivity().runOnUiThread(() -> {
+                    isLoadingPage = false;
                     binding.swipeRefreshLayout.setRefreshing(false);
                     showLoading(false);
 
                     allTasks.clear();
+                    nextCursor = null;
                     applyFilters();
                     Toast.makeText(getContext(), "Erro: " + message, Toast.LENGTH_LONG).show();
                 });
@@ -169,6 +196,47 @@ public class TasksFragment extends Fragment {
         });
     }
 
+    private void loadNextPage() {
+        String token = sessionManager.getAuthToken();
+        if (token == null || nextCursor == null || isLoadingPage) return;
+
+        final String requestedCursor = nextCursor;
+        isLoadingPage = true;
+        baseApiCaller.listTasks(currentStatusFilter, currentSearchQuery, nextCursor, token, new BaseApiCaller.ApiCallback<String>() {
+            @Override
+            public void onSuccess(String jsonResult) {
+                if (getActivity() == null || binding == null) return;
+                getActivity().runOnUiThread(() -> {
+                    isLoadingPage = false;
+                    if (!requestedCursor.equals(nextCursor)) return;
+
+                    try {
+                        TaskPage page = new Gson().fromJson(jsonResult, TaskPage.class);
+                        if (page == null || page.getTasks() == null) {
+                            nextCursor = null;
+                            return;
+                        }
+
+                        allTasks.addAll(page.getTasks());
+                        nextCursor = page.getNextCursor();
+                        applyFilters();
+                    } catch (Exception e) {
+                        Toast.makeText(getContext(), "Falha ao ler as tarefas.", Toast.LENGTH_SHORT).show();
+                    }
+                });
+            }
+
+            @Override
+            public void onError(String message) {
+                if (getActivity() == null) return;
+                getActivity().runOnUiThread(() -> {
+                    isLoadingPage = false;
+                    Toast.makeText(getContext(), "Erro: " + message, Toast.LENGTH_LONG).show();
+                });
+            }
+        });
+    }
+
     @Override
     public void onResume() {
         super.onResume();
@@ -176,23 +244,7 @@ public class TasksFragment extends Fragment {
     }
 
     private void applyFilters() {
-        List<Task> filteredList = new ArrayList<>(allTasks);
-
-        // Filtrar por status
-        if (currentStatusFilter != null) {
-            filteredList = filteredList.stream()
-                    .filter(task -> task.getStatus() != null && task.getStatus().equals(currentStatusFilter))
-                    .collect(Collectors.toList());
-        }
-
-        // Filtrar por texto
-        if (!currentSearchQuery.isEmpty()) {
-            filteredList = filteredList.stream()
-                    .filter(task -> task.getTitle() != null && task.getTitle().toLowerCase().contains(currentSearchQuery.toLowerCase()))
-                    .collect(Collectors.toList());
-        }
-
-        if (filteredList.isEmpty()) {
+        if (allTasks.isEmpty()) {
             binding.recyclerViewTasks.setVisibility(View.GONE);
             binding.textViewEmpty.setVisibility(View.VISIBLE);
         } else {
@@ -200,7 +252,7 @@ public class TasksFragment extends Fragment {
             binding.textViewEmpty.setVisibility(View.GONE);
         }
 
-        taskAdapter.submitList(filteredList);
+        taskAdapter.submitList(allTasks);
     }
 
     private void showLoading(boolean isLoading) {
@@ -213,6 +265,7 @@ public class TasksFragment extends Fragment {
     @Override
     public void onDestroyView() {
         super.onDestroyView();
+        searchHandler.removeCallbacks(searchRunnable);
         binding = null;
     }
 }
\ No newline at end of file